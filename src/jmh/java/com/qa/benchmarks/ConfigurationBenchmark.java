@@ -0,0 +1,52 @@
+package com.qa.benchmarks;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.qa.config.Configuration;
+
+/**
+ * Cost of loading the layered configuration and of reading typed values from
+ * the shared snapshot. Run from the project root so the config file is found.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ConfigurationBenchmark {
+
+	private final Configuration config = Configuration.get();
+
+	@Benchmark
+	public Configuration load() {
+		return Configuration.load();
+	}
+
+	@Benchmark
+	public Duration readDuration() {
+		return config.getDuration("wait.timeout", Duration.ofSeconds(10));
+	}
+
+	@Benchmark
+	public int readInt() {
+		return config.getInt("driver.pool.maxSize", 4);
+	}
+
+	@Benchmark
+	public Map<String, String> readPrefix() {
+		return config.withPrefix("wait.");
+	}
+}
@@ -0,0 +1,54 @@
+package com.qa.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.qa.utility.DataGenerator;
+
+/**
+ * Cost of generating one value of each kind of test data.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class DataGeneratorBenchmark {
+
+	private final DataGenerator generator = new DataGenerator();
+
+	@Benchmark
+	public String randomString() {
+		return generator.generateRandomString();
+	}
+
+	@Benchmark
+	public String randomEmail() {
+		return generator.generateRandomEmail();
+	}
+
+	@Benchmark
+	public String randomPhoneNumber() {
+		return generator.generateRandomNumber();
+	}
+
+	@Benchmark
+	public String randomPassword() {
+		return generator.generateRandomPassword();
+	}
+
+	@Benchmark
+	public int randomNumberInRange() {
+		return generator.generateRandomNumber(1, 1000);
+	}
+}
@@ -0,0 +1,92 @@
+package com.qa.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.FindBy;
+
+import com.qa.base.PageInitializer;
+import com.qa.interactions.PageInteraction;
+
+/**
+ * Framework overhead of PageInteraction calls against elements bound by the
+ * PageInitializer, measured on {@link StubWebDriver} so no browser round-trip
+ * is included.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class PageInteractionBenchmark {
+
+	/**
+	 * Minimal page object with one element and one element list.
+	 */
+	public static class StubPage {
+
+		@FindBy(id = "target")
+		WebElement element;
+
+		@FindBy(css = ".item")
+		List<WebElement> elements;
+	}
+
+	@Param({ "20" })
+	public int listSize;
+
+	private PageInteraction interaction;
+	private StubPage page;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		StubWebDriver driver = new StubWebDriver(listSize);
+		interaction = new PageInteraction(driver);
+		page = new StubPage();
+		PageInitializer.initElements(driver, page);
+	}
+
+	@Benchmark
+	public boolean isElementVisible() {
+		return interaction.isElementVisible(page.element);
+	}
+
+	@Benchmark
+	public void clickElement() {
+		interaction.clickElement(page.element);
+	}
+
+	@Benchmark
+	public void inputText() {
+		interaction.inputText(page.element, "test12345@gmail.com");
+	}
+
+	@Benchmark
+	public String getElementText() {
+		return interaction.getElementText(page.element);
+	}
+
+	@Benchmark
+	public List<String> getElementTexts() {
+		return interaction.getElementTexts(page.elements);
+	}
+
+	@Benchmark
+	public WebElement findElementContainingText() {
+		return interaction.findElementContainingText(page.elements, "product 19");
+	}
+}
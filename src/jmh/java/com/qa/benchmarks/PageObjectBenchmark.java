@@ -0,0 +1,68 @@
+package com.qa.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openqa.selenium.support.PageFactory;
+
+import com.qa.pages.HomePage;
+import com.qa.pages.LoginPage;
+import com.qa.pages.PageDependencies;
+import com.qa.pages.RegisterPage;
+
+/**
+ * Cost of constructing page objects through the PageInitializer, compared with
+ * binding the same page through Selenium's PageFactory.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class PageObjectBenchmark {
+
+	private StubWebDriver driver;
+	private RegisterPage registerPage;
+
+	@Setup
+	public void setUp() {
+		driver = new StubWebDriver(10);
+		registerPage = new RegisterPage(driver);
+	}
+
+	@Benchmark
+	public HomePage newHomePage() {
+		return new HomePage(driver);
+	}
+
+	@Benchmark
+	public LoginPage newLoginPage() {
+		return new LoginPage(driver);
+	}
+
+	@Benchmark
+	public RegisterPage newRegisterPage() {
+		return new RegisterPage(driver);
+	}
+
+	@Benchmark
+	public PageDependencies newPageDependencies() {
+		return new PageDependencies(driver);
+	}
+
+	@Benchmark
+	public RegisterPage pageFactoryInitElements() {
+		PageFactory.initElements(driver, registerPage);
+		return registerPage;
+	}
+}
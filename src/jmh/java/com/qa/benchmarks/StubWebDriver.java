@@ -0,0 +1,379 @@
+package com.qa.benchmarks;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import javax.imageio.ImageIO;
+
+import org.openqa.selenium.Alert;
+import org.openqa.selenium.By;
+import org.openqa.selenium.Cookie;
+import org.openqa.selenium.Dimension;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.NoAlertPresentException;
+import org.openqa.selenium.OutputType;
+import org.openqa.selenium.Point;
+import org.openqa.selenium.Rectangle;
+import org.openqa.selenium.TakesScreenshot;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.WindowType;
+import org.openqa.selenium.logging.LogEntries;
+import org.openqa.selenium.logging.Logs;
+
+/**
+ * In-memory WebDriver that answers every lookup with canned elements, so
+ * benchmarks measure the framework's own overhead and nothing else.
+ *
+ * Scripts are answered from the elements they are given, shaped like the
+ * browser's replies to the interaction layer's batched scripts, so the
+ * interaction benchmarks run the same executeScript paths as a real session.
+ * Navigation, window switching and timeouts are accepted and ignored, cookies
+ * are kept in memory and screenshots are a single pixel, so benchmarks that
+ * touch them measure instead of failing.
+ */
+public class StubWebDriver implements WebDriver, JavascriptExecutor, TakesScreenshot {
+
+	/**
+	 * A one-pixel PNG returned as every screenshot
+	 */
+	static final byte[] PNG = onePixelPng();
+
+	private final List<WebElement> elements;
+	private final Map<String, Cookie> cookies = new LinkedHashMap<>();
+	private String currentUrl = "http://localhost/";
+
+	/**
+	 * @param listSize Number of elements returned by {@link #findElements(By)}
+	 */
+	public StubWebDriver(int listSize) {
+		List<WebElement> list = new ArrayList<>(listSize);
+		for (int i = 0; i < listSize; i++) {
+			list.add(new StubWebElement("Product " + i));
+		}
+		this.elements = Collections.unmodifiableList(list);
+	}
+
+	@Override
+	public void get(String url) {
+		currentUrl = url;
+	}
+
+	@Override
+	public String getCurrentUrl() {
+		return currentUrl;
+	}
+
+	@Override
+	public String getTitle() {
+		return "Stub";
+	}
+
+	@Override
+	public List<WebElement> findElements(By by) {
+		return elements;
+	}
+
+	@Override
+	public WebElement findElement(By by) {
+		return elements.get(0);
+	}
+
+	@Override
+	public String getPageSource() {
+		return "<html></html>";
+	}
+
+	@Override
+	public void close() {
+	}
+
+	@Override
+	public void quit() {
+	}
+
+	@Override
+	public Set<String> getWindowHandles() {
+		return Collections.singleton("stub");
+	}
+
+	@Override
+	public String getWindowHandle() {
+		return "stub";
+	}
+
+	/**
+	 * Answers scripts by the shape of their arguments: a list of elements with
+	 * a search text (first match), with a list of attribute names (text and
+	 * attribute rows), or alone (element states). Other scripts return null.
+	 */
+	@Override
+	public Object executeScript(String script, Object... args) {
+		if (args.length == 0 || !(args[0] instanceof List)) {
+			return null;
+		}
+		List<?> targets = (List<?>) args[0];
+		if (args.length > 1 && args[1] instanceof String) {
+			String needle = ((String) args[1]).toLowerCase(Locale.ROOT);
+			for (Object target : targets) {
+				if (((WebElement) target).getText().toLowerCase(Locale.ROOT).contains(needle)) {
+					return target;
+				}
+			}
+			return null;
+		}
+
+		List<Map<String, Object>> rows = new ArrayList<>(targets.size());
+		for (Object target : targets) {
+			WebElement element = (WebElement) target;
+			Map<String, Object> row = new HashMap<>();
+			row.put("text", element.getText());
+			if (args.length > 1 && args[1] instanceof List) {
+				for (Object name : (List<?>) args[1]) {
+					row.put(String.valueOf(name), element.getAttribute(String.valueOf(name)));
+				}
+			} else {
+				Rectangle rect = element.getRect();
+				row.put("displayed", element.isDisplayed());
+				row.put("enabled", element.isEnabled());
+				row.put("selected", element.isSelected());
+				row.put("x", (long) rect.getX());
+				row.put("y", (long) rect.getY());
+				row.put("width", (long) rect.getWidth());
+				row.put("height", (long) rect.getHeight());
+			}
+			rows.add(row);
+		}
+		return rows;
+	}
+
+	@Override
+	public Object executeAsyncScript(String script, Object... args) {
+		return executeScript(script, args);
+	}
+
+	@Override
+	public <X> X getScreenshotAs(OutputType<X> target) {
+		return target.convertFromPngBytes(PNG);
+	}
+
+	@Override
+	public TargetLocator switchTo() {
+		return new TargetLocator() {
+			@Override
+			public WebDriver frame(int index) {
+				return StubWebDriver.this;
+			}
+
+			@Override
+			public WebDriver frame(String nameOrId) {
+				return StubWebDriver.this;
+			}
+
+			@Override
+			public WebDriver frame(WebElement frameElement) {
+				return StubWebDriver.this;
+			}
+
+			@Override
+			public WebDriver parentFrame() {
+				return StubWebDriver.this;
+			}
+
+			@Override
+			public WebDriver window(String nameOrHandle) {
+				return StubWebDriver.this;
+			}
+
+			@Override
+			public WebDriver newWindow(WindowType typeHint) {
+				return StubWebDriver.this;
+			}
+
+			@Override
+			public WebDriver defaultContent() {
+				return StubWebDriver.this;
+			}
+
+			@Override
+			public WebElement activeElement() {
+				return elements.isEmpty() ? new StubWebElement("") : elements.get(0);
+			}
+
+			@Override
+			public Alert alert() {
+				throw new NoAlertPresentException();
+			}
+		};
+	}
+
+	@Override
+	public Navigation navigate() {
+		return new Navigation() {
+			@Override
+			public void back() {
+			}
+
+			@Override
+			public void forward() {
+			}
+
+			@Override
+			public void to(String url) {
+				get(url);
+			}
+
+			@Override
+			public void to(URL url) {
+				get(url.toString());
+			}
+
+			@Override
+			public void refresh() {
+			}
+		};
+	}
+
+	@Override
+	public Options manage() {
+		return new StubOptions();
+	}
+
+	/**
+	 * Keeps cookies in memory; timeouts and window changes are ignored.
+	 */
+	private final class StubOptions implements Options {
+
+		@Override
+		public void addCookie(Cookie cookie) {
+			cookies.put(cookie.getName(), cookie);
+		}
+
+		@Override
+		public void deleteCookieNamed(String name) {
+			cookies.remove(name);
+		}
+
+		@Override
+		public void deleteCookie(Cookie cookie) {
+			cookies.remove(cookie.getName());
+		}
+
+		@Override
+		public void deleteAllCookies() {
+			cookies.clear();
+		}
+
+		@Override
+		public Set<Cookie> getCookies() {
+			return new LinkedHashSet<>(cookies.values());
+		}
+
+		@Override
+		public Cookie getCookieNamed(String name) {
+			return cookies.get(name);
+		}
+
+		@Override
+		public Timeouts timeouts() {
+			return new StubTimeouts();
+		}
+
+		@Override
+		public Window window() {
+			return new StubWindow();
+		}
+
+		@Override
+		public Logs logs() {
+			return new Logs() {
+				@Override
+				public LogEntries get(String logType) {
+					return new LogEntries(Collections.emptyList());
+				}
+
+				@Override
+				public Set<String> getAvailableLogTypes() {
+					return Collections.emptySet();
+				}
+			};
+		}
+	}
+
+	private static byte[] onePixelPng() {
+		try {
+			ByteArrayOutputStream png = new ByteArrayOutputStream();
+			ImageIO.write(new BufferedImage(1, 1, BufferedImage.TYPE_INT_ARGB), "png", png);
+			return png.toByteArray();
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	private static final class StubTimeouts implements Timeouts {
+
+		@Override
+		@Deprecated
+		public Timeouts implicitlyWait(long time, TimeUnit unit) {
+			return this;
+		}
+
+		@Override
+		@Deprecated
+		public Timeouts setScriptTimeout(long time, TimeUnit unit) {
+			return this;
+		}
+
+		@Override
+		@Deprecated
+		public Timeouts pageLoadTimeout(long time, TimeUnit unit) {
+			return this;
+		}
+	}
+
+	private static final class StubWindow implements Window {
+
+		@Override
+		public Dimension getSize() {
+			return new Dimension(1280, 800);
+		}
+
+		@Override
+		public void setSize(Dimension targetSize) {
+		}
+
+		@Override
+		public Point getPosition() {
+			return new Point(0, 0);
+		}
+
+		@Override
+		public void setPosition(Point targetPosition) {
+		}
+
+		@Override
+		public void maximize() {
+		}
+
+		@Override
+		public void minimize() {
+		}
+
+		@Override
+		public void fullscreen() {
+		}
+	}
+}
@@ -0,0 +1,107 @@
+package com.qa.benchmarks;
+
+import java.util.Collections;
+import java.util.List;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.Dimension;
+import org.openqa.selenium.OutputType;
+import org.openqa.selenium.Point;
+import org.openqa.selenium.Rectangle;
+import org.openqa.selenium.WebElement;
+
+/**
+ * Always visible and enabled element with fixed text, used by
+ * {@link StubWebDriver}.
+ */
+public class StubWebElement implements WebElement {
+
+	private final String text;
+	private volatile boolean selected;
+
+	StubWebElement(String text) {
+		this.text = text;
+	}
+
+	@Override
+	public void click() {
+		selected = !selected;
+	}
+
+	@Override
+	public void submit() {
+	}
+
+	@Override
+	public void sendKeys(CharSequence... keysToSend) {
+	}
+
+	@Override
+	public void clear() {
+	}
+
+	@Override
+	public String getTagName() {
+		return "div";
+	}
+
+	@Override
+	public String getAttribute(String name) {
+		return null;
+	}
+
+	@Override
+	public boolean isSelected() {
+		return selected;
+	}
+
+	@Override
+	public boolean isEnabled() {
+		return true;
+	}
+
+	@Override
+	public String getText() {
+		return text;
+	}
+
+	@Override
+	public List<WebElement> findElements(By by) {
+		return Collections.emptyList();
+	}
+
+	@Override
+	public WebElement findElement(By by) {
+		return this;
+	}
+
+	@Override
+	public boolean isDisplayed() {
+		return true;
+	}
+
+	@Override
+	public Point getLocation() {
+		return new Point(0, 0);
+	}
+
+	@Override
+	public Dimension getSize() {
+		return new Dimension(100, 20);
+	}
+
+	@Override
+	public Rectangle getRect() {
+		return new Rectangle(getLocation(), getSize());
+	}
+
+	@Override
+	public String getCssValue(String propertyName) {
+		return "";
+	}
+
+	@Override
+	public <X> X getScreenshotAs(OutputType<X> target) {
+		return target.convertFromPngBytes(StubWebDriver.PNG);
+	}
+}
@@ -0,0 +1,112 @@
+package com.qa.artifacts;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.openqa.selenium.OutputType;
+import org.openqa.selenium.TakesScreenshot;
+import org.openqa.selenium.WebDriver;
+import org.testng.ITestResult;
+
+import com.qa.config.Configuration;
+
+/**
+ * Run-scoped artifact bookkeeping keyed by {@link ITestResult}.
+ *
+ * The driver used by a test is attached to its result, so listeners capture
+ * the right browser no matter which thread they are called on. The run
+ * directory is computed once per JVM from the "run.id" setting (or the start
+ * time when it is not set) and published through a holder class, so reading
+ * it never locks.
+ */
+public final class ArtifactContext {
+
+	/**
+	 * Result attribute holding the test's WebDriver
+	 */
+	private static final String DRIVER_ATTRIBUTE = ArtifactContext.class.getName() + ".driver";
+
+	private static final class RunDirectory {
+		private static final Path PATH = resolve(Configuration.get());
+
+		private static Path resolve(Configuration config) {
+			String runId = config.getString("run.id",
+					LocalDateTime.now().format(DateTimeFormatter.ofPattern("ddMMyyyyHHmmss")));
+			return Paths.get(config.getString("artifacts.dir", "./src/test/resources/ScreenShots"), runId);
+		}
+	}
+
+	/**
+	 * Number of screenshots taken per test name, to keep file names unique for
+	 * data-driven and repeated invocations
+	 */
+	private static final Map<String, AtomicInteger> captures = new ConcurrentHashMap<>();
+
+	private ArtifactContext() {
+	}
+
+	/**
+	 * @return Directory holding this run's artifacts
+	 */
+	public static Path runDirectory() {
+		return RunDirectory.PATH;
+	}
+
+	/**
+	 * Associates the driver with the test result it is used for.
+	 *
+	 * @param result The test's result
+	 * @param driver The driver the test runs with
+	 */
+	public static void attach(ITestResult result, WebDriver driver) {
+		result.setAttribute(DRIVER_ATTRIBUTE, driver);
+	}
+
+	/**
+	 * Gets the driver a test ran with.
+	 *
+	 * @param result The test's result
+	 * @return The attached driver, or null if none was attached
+	 */
+	public static WebDriver driverOf(ITestResult result) {
+		return (WebDriver) result.getAttribute(DRIVER_ATTRIBUTE);
+	}
+
+	/**
+	 * Builds the screenshot file for a test, named
+	 * {@code <test>_<method>[_<n>].<ext>} inside the run directory.
+	 *
+	 * @param result    The test's result
+	 * @param extension File extension without the dot
+	 * @return Path of the screenshot file
+	 */
+	public static Path screenshotPath(ITestResult result, String extension) {
+		String name = result.getTestContext().getName() + "_" + result.getName();
+		int count = captures.computeIfAbsent(name, k -> new AtomicInteger()).incrementAndGet();
+		String fileName = count == 1 ? name : name + "_" + count;
+		return runDirectory().resolve(fileName + "." + extension);
+	}
+
+	/**
+	 * Captures a screenshot from the driver attached to the result and queues it
+	 * for writing.
+	 *
+	 * @param result The test's result
+	 * @return true if a screenshot was queued
+	 */
+	public static boolean captureScreenshot(ITestResult result) {
+		WebDriver driver = driverOf(result);
+		if (!(driver instanceof TakesScreenshot)) {
+			return false;
+		}
+		ScreenshotPipeline pipeline = ScreenshotPipeline.get();
+		byte[] png = ((TakesScreenshot) driver).getScreenshotAs(OutputType.BYTES);
+		pipeline.submit(png, screenshotPath(result, pipeline.getExtension()));
+		return true;
+	}
+}
@@ -0,0 +1,230 @@
+package com.qa.artifacts;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+
+import com.qa.config.Configuration;
+
+/**
+ * Encodes and writes screenshots on a background thread.
+ *
+ * Test threads only grab the raw PNG bytes and hand them over. The worker
+ * re-encodes them (JPEG with a configurable quality, or PNG as captured),
+ * links identical frames to the file already written instead of encoding them
+ * again, and writes through NIO. The hand-off queue is bounded: when it is
+ * full, the submitting thread blocks until the worker catches up, so no
+ * screenshot is dropped. {@link #flush(Duration)} waits for all submitted
+ * screenshots to be on disk.
+ */
+public final class ScreenshotPipeline {
+
+	/**
+	 * A screenshot waiting to be written.
+	 */
+	private static final class Job {
+		private final byte[] png;
+		private final Path target;
+
+		private Job(byte[] png, Path target) {
+			this.png = png;
+			this.target = target;
+		}
+	}
+
+	private static final class Holder {
+		private static final ScreenshotPipeline INSTANCE = new ScreenshotPipeline(Configuration.get());
+	}
+
+	private final BlockingQueue<Job> queue;
+	private final String format;
+	private final float quality;
+
+	/**
+	 * Files already written, keyed by the digest of the captured bytes
+	 */
+	private final Map<String, Path> written = new ConcurrentHashMap<>();
+
+	private final Object idle = new Object();
+	private int pending;
+
+	private ScreenshotPipeline(Configuration config) {
+		this.queue = new ArrayBlockingQueue<>(config.getInt("screenshot.queueCapacity", 16));
+		this.format = config.getString("screenshot.format", "jpg").toLowerCase();
+		this.quality = Float.parseFloat(config.getString("screenshot.quality", "0.8"));
+		if (!format.equals("jpg") && !format.equals("png")) {
+			throw new IllegalArgumentException("Unsupported screenshot.format: " + format);
+		}
+
+		Thread worker = new Thread(this::run, "screenshot-writer");
+		worker.setDaemon(true);
+		worker.start();
+		Runtime.getRuntime().addShutdownHook(new Thread(() -> flush(Duration.ofSeconds(30)), "screenshot-flush"));
+	}
+
+	/**
+	 * @return The shared pipeline, started on first use
+	 */
+	public static ScreenshotPipeline get() {
+		return Holder.INSTANCE;
+	}
+
+	/**
+	 * @return File extension of the written screenshots, without the dot
+	 */
+	public String getExtension() {
+		return format;
+	}
+
+	/**
+	 * Queues a screenshot for writing. Blocks while the queue is full.
+	 *
+	 * @param png    Screenshot as captured, in PNG format
+	 * @param target File to write, including the extension
+	 */
+	public void submit(byte[] png, Path target) {
+		synchronized (idle) {
+			pending++;
+		}
+		try {
+			queue.put(new Job(png, target));
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			done();
+			throw new IllegalStateException("Interrupted while queueing screenshot " + target);
+		}
+	}
+
+	/**
+	 * Waits until every submitted screenshot has been written.
+	 *
+	 * @param timeout Maximum time to wait
+	 * @return true if the pipeline drained in time
+	 */
+	public boolean flush(Duration timeout) {
+		long deadline = System.nanoTime() + timeout.toNanos();
+		synchronized (idle) {
+			while (pending > 0) {
+				long remaining = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+				if (remaining <= 0) {
+					return false;
+				}
+				try {
+					idle.wait(remaining);
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+					return false;
+				}
+			}
+		}
+		return true;
+	}
+
+	private void run() {
+		while (true) {
+			try {
+				Job job = queue.take();
+				try {
+					write(job);
+				} catch (Exception e) {
+					System.out.println("Screenshot " + job.target + " not written: " + e.getMessage());
+				} finally {
+					done();
+				}
+			} catch (InterruptedException e) {
+				return;
+			}
+		}
+	}
+
+	private void done() {
+		synchronized (idle) {
+			pending--;
+			if (pending == 0) {
+				idle.notifyAll();
+			}
+		}
+	}
+
+	private void write(Job job) throws IOException {
+		Files.createDirectories(job.target.toAbsolutePath().getParent());
+
+		// Identical frames (e.g. the same error page) are linked, not re-encoded
+		String digest = digest(job.png);
+		Path existing = written.putIfAbsent(digest, job.target);
+		if (existing != null && !existing.equals(job.target) && Files.exists(existing)) {
+			try {
+				Files.deleteIfExists(job.target);
+				Files.createLink(job.target, existing);
+			} catch (UnsupportedOperationException | FileAlreadyExistsException | SecurityException e) {
+				Files.copy(existing, job.target, StandardCopyOption.REPLACE_EXISTING);
+			}
+			return;
+		}
+
+		byte[] encoded = format.equals("jpg") ? toJpeg(job.png) : job.png;
+		Files.write(job.target, encoded, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+				StandardOpenOption.WRITE);
+	}
+
+	private byte[] toJpeg(byte[] png) throws IOException {
+		BufferedImage source = ImageIO.read(new ByteArrayInputStream(png));
+		if (source == null) {
+			throw new IOException("Captured bytes are not a readable image");
+		}
+
+		// JPEG has no alpha channel, so draw onto an opaque RGB image first
+		BufferedImage rgb = new BufferedImage(source.getWidth(), source.getHeight(), BufferedImage.TYPE_INT_RGB);
+		Graphics2D graphics = rgb.createGraphics();
+		try {
+			graphics.drawImage(source, 0, 0, Color.WHITE, null);
+		} finally {
+			graphics.dispose();
+		}
+
+		ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+		ImageWriteParam param = writer.getDefaultWriteParam();
+		param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+		param.setCompressionQuality(quality);
+
+		ByteArrayOutputStream out = new ByteArrayOutputStream(png.length / 2);
+		try (ImageOutputStream stream = ImageIO.createImageOutputStream(out)) {
+			writer.setOutput(stream);
+			writer.write(null, new IIOImage(rgb, null, null), param);
+		} finally {
+			writer.dispose();
+		}
+		return out.toByteArray();
+	}
+
+	private static String digest(byte[] bytes) {
+		try {
+			return Base64.getEncoder().encodeToString(MessageDigest.getInstance("SHA-256").digest(bytes));
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException(e.getMessage());
+		}
+	}
+}
@@ -1,27 +1,38 @@
 package com.qa.base;
 
-import java.io.File;
-import java.io.FileInputStream;
+import java.net.URI;
 import java.time.Duration;
-import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
-import java.util.Properties;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
 
-import org.apache.commons.io.FileUtils;
 import org.openqa.selenium.OutputType;
 import org.openqa.selenium.TakesScreenshot;
 import org.openqa.selenium.WebDriver;
-import org.openqa.selenium.chrome.ChromeDriver;
-import org.openqa.selenium.edge.EdgeDriver;
-import org.openqa.selenium.firefox.FirefoxDriver;
+import org.testng.ITestResult;
 import org.testng.annotations.AfterMethod;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Optional;
 import org.testng.annotations.Parameters;
 
+import com.qa.artifacts.ArtifactContext;
+import com.qa.artifacts.ScreenshotPipeline;
+import com.qa.config.Configuration;
+import com.qa.data.UserPool;
+import com.qa.data.UserRecord;
+import com.qa.driver.BrowserProfile;
+import com.qa.driver.DriverFactories;
+import com.qa.driver.DriverPool;
+import com.qa.fixtures.AccountFixtures;
 import com.qa.interactions.PageInteraction;
-
-import io.github.bonigarcia.wdm.WebDriverManager;
+import com.qa.metrics.StepTimings;
+import com.qa.parallel.ParallelismController;
+import com.qa.standin.StandInDriver;
+import com.qa.standin.StandInServer;
+import com.qa.standin.StandInSite;
 
 public class BaseTest {
 
@@ -31,14 +42,20 @@ public class BaseTest {
 	private static ThreadLocal<WebDriver> driver = new ThreadLocal<>();
 
 	/**
-	 * Variable to store the sub-folder name for screenshots
+	 * Configuration snapshot shared by all test classes, loaded once per JVM
+	 */
+	protected static final Configuration config = Configuration.get();
+
+	/**
+	 * Pool of reusable browser sessions shared by all test classes
 	 */
-	public static String subFolderName;
+	private static DriverPool driverPool;
 
 	/**
-	 * Properties object to load configuration properties
+	 * Accounts registered in advance and not yet handed to a test, per site:
+	 * true for the stand-in site, false for the site over HTTP
 	 */
-	public static Properties prop;
+	private static final Map<Boolean, Queue<UserRecord>> provisionedAccounts = new HashMap<>();
 
 	/**
 	 * Getter for the WebDriver instance
@@ -66,87 +83,190 @@ public class BaseTest {
 	}
 
 	/**
-	 * Load configuration properties from the config file
+	 * Lazily create the driver pool from the pool settings in the config file.
+	 * When the ParallelismController gates tests, the pool holds as many sessions
+	 * as it may admit, so the gate alone limits concurrency.
+	 *
+	 * @return The shared DriverPool instance
+	 */
+	private static synchronized DriverPool driverPool() {
+		if (driverPool == null) {
+			ParallelismController controller = ParallelismController.get();
+			int maxSize = config.getInt("driver.pool.maxSize", 4);
+			if (controller.isRunning()) {
+				maxSize = Math.max(maxSize, controller.getMaxWorkers());
+			}
+			driverPool = new DriverPool(maxSize, config.getInt("driver.pool.maxReuse", 25),
+					config.getDuration("driver.pool.leaseTimeout", Duration.ofMinutes(2)));
+			// Close browsers that are no longer needed when fewer tests may run
+			DriverPool pool = driverPool;
+			controller.addLimitListener(limit -> pool.trimIdle(Math.max(0, limit - controller.getActive())));
+		}
+		return driverPool;
+	}
+
+	/**
+	 * Base URL of the site under test: the embedded stand-in server when
+	 * "standin.server.enabled" is set, otherwise the "baseUrl" setting
+	 *
+	 * @return The base URL
+	 */
+	private static String baseUrl() {
+		return StandInServer.isEnabled(config) ? StandInServer.get().getBaseUrl() : config.getUrl("baseUrl").toString();
+	}
+
+	/**
+	 * Account fixtures for the site the current thread's driver uses: the
+	 * in-process stand-in site for the fake browser, otherwise HTTP against the
+	 * base URL
+	 *
+	 * @return AccountFixtures for the current test
+	 */
+	protected static AccountFixtures accountFixtures() {
+		return accountFixtures(getDriver() instanceof StandInDriver);
+	}
+
+	private static AccountFixtures accountFixtures(boolean standIn) {
+		URI site = URI.create(baseUrl());
+		return standIn ? AccountFixtures.standIn(StandInSite.get(), site, config)
+				: AccountFixtures.overHttp(site, config);
+	}
+
+	/**
+	 * An account without newsletter subscription that a test may use and
+	 * change: one of the "fixtures.accounts" accounts registered in a batch on
+	 * the first call for the current test's site, or a newly registered one once
+	 * those are used up. With the default of 0, every call registers one.
 	 *
-	 * @throws Exception if the config file cannot be loaded
+	 * @return The account's details
 	 */
-	void loadConfig() throws Exception {
-		prop = new Properties();
-		File configFile = new File("./src/test/resources/Configuration/config.properties");
-		FileInputStream fis = new FileInputStream(configFile);
-		prop.load(fis);
+	protected static UserRecord provisionedAccount() {
+		boolean standIn = getDriver() instanceof StandInDriver;
+		UserRecord user = provisionedAccounts(standIn).poll();
+		return user != null ? user : accountFixtures(standIn).register(UserPool.get().take(), false);
 	}
 
 	/**
-	 * Method to start the WebDriver before each test method
+	 * Method to register "fixtures.accounts" accounts in parallel batches, once
+	 * per site. If provisioning fails, tests register their accounts on demand
+	 * instead.
 	 *
-	 * @param browserName Optional browser name parameter, defaults to "edge"
-	 * @throws Exception if the config file cannot be loaded
+	 * @param standIn Whether the accounts are for the stand-in site
+	 * @return Provisioned accounts not yet handed to a test
+	 */
+	private static Queue<UserRecord> provisionedAccounts(boolean standIn) {
+		synchronized (provisionedAccounts) {
+			Queue<UserRecord> accounts = provisionedAccounts.get(standIn);
+			if (accounts != null) {
+				return accounts;
+			}
+			accounts = new ConcurrentLinkedQueue<>();
+			provisionedAccounts.put(standIn, accounts);
+			int count = config.getInt("fixtures.accounts", 0);
+			if (count > 0) {
+				List<UserRecord> users = new ArrayList<>();
+				for (int i = 0; i < count; i++) {
+					users.add(UserPool.get().take());
+				}
+				try {
+					accounts.addAll(accountFixtures(standIn).registerAll(users, false));
+				} catch (RuntimeException e) {
+					System.out.println("Accounts not provisioned: " + e);
+				}
+			}
+			return accounts;
+		}
+	}
+
+	/**
+	 * Launch a new browser session through the registered DriverFactory
+	 *
+	 * @param browser Name of the browser to launch
+	 * @param profile Launch options for the session
+	 * @return A new WebDriver instance
+	 */
+	private static WebDriver createDriver(String browser, BrowserProfile profile) {
+		long start = StepTimings.start();
+		try {
+			return DriverFactories.forBrowser(browser).create(profile);
+		} finally {
+			StepTimings.stop("createDriver", null, start);
+		}
+	}
+
+	/**
+	 * Method to lease a WebDriver session from the pool before each test method.
+	 * The browser name may carry a profile as "browser:profile" (e.g.
+	 * "chrome:headed"); otherwise the "browser.profile" setting is used. Without
+	 * the suite parameter the "browserName" setting is used, so a run can be
+	 * switched with e.g. -DbrowserName=fake. When adaptive parallelism is on,
+	 * this waits until the ParallelismController admits another test.
+	 *
+	 * @param browserName Optional browser name parameter
+	 * @param result      Result of the test method about to run
 	 */
 	@Parameters({ "browserName" })
 	@BeforeMethod(alwaysRun = true)
-	public void startDriver(@Optional("edge") String browserName) throws Exception {
-		loadConfig();
-
-		WebDriver driverInstance;
-		if (browserName.equalsIgnoreCase("chrome")) {
-			WebDriverManager.chromedriver().setup();
-			driverInstance = new ChromeDriver();
-		} else if (browserName.equalsIgnoreCase("edge")) {
-			WebDriverManager.edgedriver().setup();
-			driverInstance = new EdgeDriver();
-		} else if (browserName.equalsIgnoreCase("firefox")) {
-			WebDriverManager.firefoxdriver().setup();
-			driverInstance = new FirefoxDriver();
-		} else {
-			WebDriverManager.chromedriver().setup();
-			driverInstance = new ChromeDriver();
+	public void startDriver(@Optional("") String browserName, ITestResult result) {
+		ParallelismController.get().admit();
+		long start = StepTimings.start();
+		try {
+			String name = browserName.isEmpty() ? config.getString("browserName", "edge") : browserName;
+			String[] parts = name.split(":", 2);
+			String browser = parts[0].trim();
+			BrowserProfile profile = BrowserProfile.named(
+					parts.length > 1 ? parts[1].trim() : config.getString("browser.profile", "headless"), config);
+
+			setDriver(driverPool().lease(browser + ":" + profile, () -> createDriver(browser, profile)));
+			// Listeners find the driver through the result, not the thread
+			ArtifactContext.attach(result, getDriver());
+
+			// Create a PageInteraction object to interact with the web page
+			PageInteraction interaction = PageInteraction.of(getDriver());
+
+			// Navigate to the base URL unless the pooled session is already there
+			String baseUrl = baseUrl();
+			if (!baseUrl.equals(getDriver().getCurrentUrl())) {
+				getDriver().get(baseUrl);
+			}
+			// Compare the current URL with the base URL
+			interaction.compareText(getDriver().getCurrentUrl(), baseUrl);
+		} finally {
+			// Failed starts are recorded too; they are usually the slow ones
+			StepTimings.stop("startDriver", null, start);
 		}
-		setDriver(driverInstance);
-
-		// Create a PageInteraction object to interact with the web page
-		PageInteraction interaction = new PageInteraction(getDriver());
-
-		// Set implicit wait and maximize the browser window
-		getDriver().manage().timeouts().implicitlyWait(Duration.ofSeconds(10));
-		getDriver().manage().window().maximize();
-		// Navigate to the base URL
-		getDriver().get(prop.getProperty("baseUrl"));
-		// Compare the current URL with the base URL
-		interaction.compareText(getDriver().getCurrentUrl(), prop.getProperty("baseUrl"));
 	}
 
 	/**
-	 * Method to quit the WebDriver after each test method
+	 * Method to return the WebDriver session to the pool after each test method
+	 * and let the next waiting test start
 	 */
 	@AfterMethod(alwaysRun = true)
 	public void quitDriver() {
-		if (getDriver() != null) {
-			getDriver().quit();
-			removeDriver();
+		long start = StepTimings.start();
+		try {
+			if (getDriver() != null) {
+				driverPool().release(getDriver(), baseUrl());
+				removeDriver();
+			}
+		} finally {
+			ParallelismController.get().leave();
+			StepTimings.stop("quitDriver", null, start);
 		}
 	}
 
 	/**
-	 * Method to capture a screenshot
+	 * Method to capture a screenshot of the current thread's driver into the run
+	 * directory. Only the capture runs on the calling thread; encoding and
+	 * writing happen in the ScreenshotPipeline.
 	 *
-	 * @param fileName Name of the screenshot file
+	 * @param fileName Name of the screenshot file, without extension
 	 */
 	public void CaptureScreenShot(String fileName) {
-		// Generate a sub-folder name if it is not already set
-		if (subFolderName == null) {
-			LocalDateTime myDateObj = LocalDateTime.now();
-			DateTimeFormatter myFormatObj = DateTimeFormatter.ofPattern("ddMMyyyyHHmmss");
-			subFolderName = myDateObj.format(myFormatObj);
-		}
-
-		// Take a screenshot and save it to the specified location
-		TakesScreenshot screenShot = (TakesScreenshot) getDriver();
-		File src = screenShot.getScreenshotAs(OutputType.FILE);
-		File dest = new File("./src/test/resources/ScreenShots/" + subFolderName + "/" + fileName + ".jpg");
-
+		ScreenshotPipeline pipeline = ScreenshotPipeline.get();
 		try {
-			FileUtils.copyFile(src, dest);
+			byte[] png = ((TakesScreenshot) getDriver()).getScreenshotAs(OutputType.BYTES);
+			pipeline.submit(png, ArtifactContext.runDirectory().resolve(fileName + "." + pipeline.getExtension()));
 		} catch (Exception e) {
 			System.out.println(e.getMessage());
 		}
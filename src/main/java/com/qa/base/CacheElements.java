@@ -0,0 +1,17 @@
+package com.qa.base;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Opts a page class into element caching. {@link PageInitializer} binds the
+ * page's single-element fields to handles that keep the resolved WebElement
+ * until the page navigates or the reference goes stale. Element lists are
+ * always looked up fresh.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+public @interface CacheElements {
+}
@@ -0,0 +1,51 @@
+package com.qa.base;
+
+import java.util.function.Function;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.SearchContext;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.WebElement;
+
+/**
+ * Element handle that keeps the resolved WebElement between calls. The
+ * reference is looked up again only after the page navigated or when it turns
+ * out to be stale.
+ */
+public class CachedLazyElement extends LazyElement {
+
+	private final ElementCache cache;
+	private WebElement element;
+	private long generation;
+
+	CachedLazyElement(SearchContext context, By by, String name, ElementCache cache) {
+		super(context, by, name);
+		this.cache = cache;
+	}
+
+	@Override
+	protected synchronized WebElement resolve() {
+		long current = cache.generation();
+		if (element == null || generation != current) {
+			element = super.resolve();
+			generation = current;
+		}
+		return element;
+	}
+
+	@Override
+	protected <T> T invoke(Function<WebElement, T> operation) {
+		try {
+			return operation.apply(resolve());
+		} catch (StaleElementReferenceException e) {
+			// The document changed under us; drop every reference of the page and retry once
+			cache.invalidate();
+			return operation.apply(resolve());
+		}
+	}
+
+	@Override
+	public void invalidate() {
+		cache.invalidate();
+	}
+}
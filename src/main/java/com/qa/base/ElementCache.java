@@ -0,0 +1,102 @@
+package com.qa.base;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.openqa.selenium.Keys;
+import org.openqa.selenium.SearchContext;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WrapsDriver;
+
+/**
+ * Tracks whether element references cached by one page object are still
+ * usable.
+ *
+ * Cached references are dropped when the page has navigated away, which is
+ * detected by comparing the current URL with the URL the references were
+ * resolved on. The URL is only checked after an action that may have
+ * navigated (a click, a submit or an Enter key), so repeated use of the same
+ * element between such actions costs no extra calls. Actions are counted per
+ * driver, so tests on other threads do not force a URL check here. References
+ * that go stale without a URL change are re-resolved by
+ * {@link CachedLazyElement}.
+ */
+final class ElementCache {
+
+	/**
+	 * Per driver, bumped after every action that may have caused a navigation.
+	 * Weak keys, so drivers that were quit are dropped.
+	 */
+	private static final Map<SearchContext, AtomicLong> navigationEpochs = Collections
+			.synchronizedMap(new WeakHashMap<>());
+
+	private final SearchContext context;
+	private final AtomicLong navigationEpoch;
+	private long checkedEpoch = -1;
+	private String documentUrl;
+	private long generation;
+
+	ElementCache(SearchContext context) {
+		this.context = context;
+		this.navigationEpoch = navigationEpoch(context);
+	}
+
+	/**
+	 * Records that the page of the context's driver may have navigated.
+	 *
+	 * @param context Driver or element the action was performed through
+	 */
+	static void markPossibleNavigation(SearchContext context) {
+		navigationEpoch(context).incrementAndGet();
+	}
+
+	/**
+	 * @return The navigation counter of the driver behind the context
+	 */
+	private static AtomicLong navigationEpoch(SearchContext context) {
+		SearchContext driver = context instanceof WrapsDriver ? ((WrapsDriver) context).getWrappedDriver() : context;
+		return navigationEpochs.computeIfAbsent(driver, key -> new AtomicLong());
+	}
+
+	/**
+	 * Checks whether typing the given keys may submit a form.
+	 */
+	static boolean submitsForm(CharSequence... keys) {
+		for (CharSequence key : keys) {
+			String text = String.valueOf(key);
+			if (text.indexOf(Keys.ENTER.charAt(0)) >= 0 || text.indexOf(Keys.RETURN.charAt(0)) >= 0
+					|| text.indexOf('\n') >= 0) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Returns the current cache generation. References resolved under an older
+	 * generation must be looked up again.
+	 *
+	 * @return The cache generation
+	 */
+	synchronized long generation() {
+		long epoch = navigationEpoch.get();
+		if (epoch != checkedEpoch && context instanceof WebDriver) {
+			String url = ((WebDriver) context).getCurrentUrl();
+			if (!url.equals(documentUrl)) {
+				documentUrl = url;
+				generation++;
+			}
+			checkedEpoch = epoch;
+		}
+		return generation;
+	}
+
+	/**
+	 * Drops all references of the page, e.g. after one of them went stale.
+	 */
+	synchronized void invalidate() {
+		generation++;
+	}
+}
@@ -0,0 +1,214 @@
+package com.qa.base;
+
+import java.util.List;
+import java.util.function.Function;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.Dimension;
+import org.openqa.selenium.OutputType;
+import org.openqa.selenium.Point;
+import org.openqa.selenium.Rectangle;
+import org.openqa.selenium.SearchContext;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.WrapsElement;
+import org.openqa.selenium.interactions.Coordinates;
+import org.openqa.selenium.interactions.Locatable;
+
+/**
+ * Element handle bound by {@link PageInitializer}. Every call looks the
+ * element up through its locator and delegates to the result.
+ */
+public class LazyElement implements WebElement, WrapsElement, Locatable {
+
+	private final SearchContext context;
+	private final By by;
+	private final String name;
+
+	LazyElement(SearchContext context, By by, String name) {
+		this.context = context;
+		this.by = by;
+		this.name = name;
+	}
+
+	/**
+	 * @return The locator of this element
+	 */
+	public By getBy() {
+		return by;
+	}
+
+	/**
+	 * @return The declaring page class and field name, e.g. "HomePage.searchBox"
+	 */
+	public String getName() {
+		return name;
+	}
+
+	/**
+	 * Looks the element up.
+	 *
+	 * @return The current WebElement matching the locator
+	 */
+	protected WebElement resolve() {
+		return context.findElement(by);
+	}
+
+	/**
+	 * Runs an operation against the resolved element.
+	 *
+	 * @param operation The operation to run
+	 * @return The operation's result
+	 */
+	protected <T> T invoke(Function<WebElement, T> operation) {
+		return operation.apply(resolve());
+	}
+
+	/**
+	 * Drops any element reference held by this handle. Handles without a cache
+	 * hold none, so this does nothing by default.
+	 */
+	public void invalidate() {
+	}
+
+	@Override
+	public WebElement getWrappedElement() {
+		return resolve();
+	}
+
+	@Override
+	public Coordinates getCoordinates() {
+		return ((Locatable) resolve()).getCoordinates();
+	}
+
+	@Override
+	public void click() {
+		invoke(element -> {
+			element.click();
+			return null;
+		});
+		ElementCache.markPossibleNavigation(context);
+	}
+
+	@Override
+	public void submit() {
+		invoke(element -> {
+			element.submit();
+			return null;
+		});
+		ElementCache.markPossibleNavigation(context);
+	}
+
+	@Override
+	public void sendKeys(CharSequence... keysToSend) {
+		invoke(element -> {
+			element.sendKeys(keysToSend);
+			return null;
+		});
+		if (ElementCache.submitsForm(keysToSend)) {
+			ElementCache.markPossibleNavigation(context);
+		}
+	}
+
+	@Override
+	public void clear() {
+		invoke(element -> {
+			element.clear();
+			return null;
+		});
+	}
+
+	@Override
+	public String getTagName() {
+		return invoke(WebElement::getTagName);
+	}
+
+	@Override
+	public String getDomProperty(String name) {
+		return invoke(element -> element.getDomProperty(name));
+	}
+
+	@Override
+	public String getDomAttribute(String name) {
+		return invoke(element -> element.getDomAttribute(name));
+	}
+
+	@Override
+	public String getAttribute(String name) {
+		return invoke(element -> element.getAttribute(name));
+	}
+
+	@Override
+	public String getAriaRole() {
+		return invoke(WebElement::getAriaRole);
+	}
+
+	@Override
+	public String getAccessibleName() {
+		return invoke(WebElement::getAccessibleName);
+	}
+
+	@Override
+	public boolean isSelected() {
+		return invoke(WebElement::isSelected);
+	}
+
+	@Override
+	public boolean isEnabled() {
+		return invoke(WebElement::isEnabled);
+	}
+
+	@Override
+	public String getText() {
+		return invoke(WebElement::getText);
+	}
+
+	@Override
+	public List<WebElement> findElements(By by) {
+		return invoke(element -> element.findElements(by));
+	}
+
+	@Override
+	public WebElement findElement(By by) {
+		return invoke(element -> element.findElement(by));
+	}
+
+	@Override
+	public SearchContext getShadowRoot() {
+		return invoke(WebElement::getShadowRoot);
+	}
+
+	@Override
+	public boolean isDisplayed() {
+		return invoke(WebElement::isDisplayed);
+	}
+
+	@Override
+	public Point getLocation() {
+		return invoke(WebElement::getLocation);
+	}
+
+	@Override
+	public Dimension getSize() {
+		return invoke(WebElement::getSize);
+	}
+
+	@Override
+	public Rectangle getRect() {
+		return invoke(WebElement::getRect);
+	}
+
+	@Override
+	public String getCssValue(String propertyName) {
+		return invoke(element -> element.getCssValue(propertyName));
+	}
+
+	@Override
+	public <X> X getScreenshotAs(OutputType<X> target) {
+		return invoke(element -> element.getScreenshotAs(target));
+	}
+
+	@Override
+	public String toString() {
+		return name + " (" + by + ")";
+	}
+}
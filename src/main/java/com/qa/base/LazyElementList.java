@@ -0,0 +1,91 @@
+package com.qa.base;
+
+import java.util.AbstractList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Spliterator;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.SearchContext;
+import org.openqa.selenium.WebElement;
+
+/**
+ * Element list handle bound by {@link PageInitializer}. Each list operation
+ * runs one lookup, so iterating or copying the list costs a single
+ * {@code findElements} call.
+ */
+public class LazyElementList extends AbstractList<WebElement> {
+
+	private final SearchContext context;
+	private final By by;
+	private final String name;
+
+	LazyElementList(SearchContext context, By by, String name) {
+		this.context = context;
+		this.by = by;
+		this.name = name;
+	}
+
+	/**
+	 * @return The locator of the list's elements
+	 */
+	public By getBy() {
+		return by;
+	}
+
+	/**
+	 * @return The declaring page class and field name
+	 */
+	public String getName() {
+		return name;
+	}
+
+	/**
+	 * Looks the elements up.
+	 *
+	 * @return The WebElements currently matching the locator
+	 */
+	protected List<WebElement> resolve() {
+		return context.findElements(by);
+	}
+
+	@Override
+	public WebElement get(int index) {
+		return resolve().get(index);
+	}
+
+	@Override
+	public int size() {
+		return resolve().size();
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return resolve().isEmpty();
+	}
+
+	@Override
+	public Iterator<WebElement> iterator() {
+		return resolve().iterator();
+	}
+
+	@Override
+	public Spliterator<WebElement> spliterator() {
+		return resolve().spliterator();
+	}
+
+	@Override
+	public Object[] toArray() {
+		return resolve().toArray();
+	}
+
+	@Override
+	public <T> T[] toArray(T[] a) {
+		return resolve().toArray(a);
+	}
+
+	@Override
+	public String toString() {
+		return name + " (" + by + ")";
+	}
+}
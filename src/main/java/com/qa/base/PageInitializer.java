@@ -0,0 +1,117 @@
+package com.qa.base;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.SearchContext;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.FindAll;
+import org.openqa.selenium.support.FindBy;
+import org.openqa.selenium.support.FindBys;
+import org.openqa.selenium.support.pagefactory.Annotations;
+
+/**
+ * Drop-in replacement for {@code PageFactory.initElements} that scans each
+ * page class only once.
+ *
+ * The {@code @FindBy}, {@code @FindBys} and {@code @FindAll} fields of a class
+ * and their locators are computed on first use and cached per class. Binding a
+ * page instance then only assigns lightweight lazy handles to those fields;
+ * the handles look the element up when they are used, like PageFactory
+ * proxies do, unless the page opts into caching with {@link CacheElements}.
+ */
+public final class PageInitializer {
+
+	/**
+	 * A locator-annotated field of a page class.
+	 */
+	private static final class ElementField {
+		private final Field field;
+		private final By by;
+		private final boolean list;
+		private final String name;
+
+		private ElementField(Field field, By by, boolean list) {
+			this.field = field;
+			this.by = by;
+			this.list = list;
+			this.name = field.getDeclaringClass().getSimpleName() + "." + field.getName();
+		}
+	}
+
+	/**
+	 * Element fields per page class, computed once per class
+	 */
+	private static final Map<Class<?>, List<ElementField>> metadata = new ConcurrentHashMap<>();
+
+	private PageInitializer() {
+	}
+
+	/**
+	 * Assigns lazy element handles to all locator-annotated fields of the page.
+	 *
+	 * @param context Driver or element the elements are looked up from
+	 * @param page    Page object whose fields are initialised
+	 */
+	public static void initElements(SearchContext context, Object page) {
+		// Pages annotated with @CacheElements share one cache across their fields
+		ElementCache cache = page.getClass().isAnnotationPresent(CacheElements.class) ? new ElementCache(context)
+				: null;
+
+		for (ElementField element : metadata.computeIfAbsent(page.getClass(), PageInitializer::scan)) {
+			Object handle;
+			if (element.list) {
+				handle = new LazyElementList(context, element.by, element.name);
+			} else if (cache != null) {
+				handle = new CachedLazyElement(context, element.by, element.name, cache);
+			} else {
+				handle = new LazyElement(context, element.by, element.name);
+			}
+			try {
+				element.field.set(page, handle);
+			} catch (IllegalAccessException e) {
+				throw new IllegalStateException("Cannot initialise " + element.name + ": " + e.getMessage());
+			}
+		}
+	}
+
+	/**
+	 * Collects the annotated WebElement and List&lt;WebElement&gt; fields of the
+	 * class and its superclasses.
+	 */
+	private static List<ElementField> scan(Class<?> pageClass) {
+		List<ElementField> fields = new ArrayList<>();
+		for (Class<?> type = pageClass; type != null && type != Object.class; type = type.getSuperclass()) {
+			for (Field field : type.getDeclaredFields()) {
+				if (!field.isAnnotationPresent(FindBy.class) && !field.isAnnotationPresent(FindBys.class)
+						&& !field.isAnnotationPresent(FindAll.class)) {
+					continue;
+				}
+
+				boolean list = isWebElementList(field);
+				if (!list && !WebElement.class.equals(field.getType())) {
+					continue;
+				}
+				field.setAccessible(true);
+				fields.add(new ElementField(field, new Annotations(field).buildBy(), list));
+			}
+		}
+		return Collections.unmodifiableList(fields);
+	}
+
+	private static boolean isWebElementList(Field field) {
+		if (!List.class.equals(field.getType())) {
+			return false;
+		}
+		Type generic = field.getGenericType();
+		return generic instanceof ParameterizedType
+				&& WebElement.class.equals(((ParameterizedType) generic).getActualTypeArguments()[0]);
+	}
+}
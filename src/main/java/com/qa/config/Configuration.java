@@ -0,0 +1,290 @@
+package com.qa.config;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.format.DateTimeParseException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Properties;
+
+/**
+ * Immutable, typed view of the framework configuration.
+ *
+ * The snapshot is loaded once per JVM from config.properties, then overridden
+ * by environment variables and finally by system properties. An environment
+ * variable overrides a key when its name is the key in upper case with dots
+ * replaced by underscores, e.g. {@code DRIVER_POOL_MAXSIZE} for
+ * {@code driver.pool.maxSize}; this also sets keys the file does not contain.
+ * Only {@link #withPrefix(String)} cannot see such environment-only keys,
+ * since variable names do not preserve the keys' case. Once published the
+ * snapshot never changes, so parallel threads can read it without locking.
+ */
+public final class Configuration {
+
+	/**
+	 * Default location of the config file, relative to the project root
+	 */
+	public static final String DEFAULT_CONFIG_FILE = "./src/test/resources/Configuration/config.properties";
+
+	/**
+	 * Classpath fallback used when the config file is not on disk
+	 */
+	private static final String CONFIG_RESOURCE = "Configuration/config.properties";
+
+	/**
+	 * Lazily initialised holder; class loading guarantees a single, safely
+	 * published instance.
+	 */
+	private static final class Holder {
+		private static final Configuration INSTANCE = load();
+	}
+
+	private final Map<String, String> values;
+
+	/**
+	 * Environment variables consulted for keys that are not in the values
+	 */
+	private final Map<String, String> environment;
+
+	private Configuration(Map<String, String> values, Map<String, String> environment) {
+		this.values = Collections.unmodifiableMap(values);
+		this.environment = environment;
+	}
+
+	/**
+	 * Returns the configuration snapshot, loading it on first use.
+	 *
+	 * @return The shared Configuration instance
+	 */
+	public static Configuration get() {
+		return Holder.INSTANCE;
+	}
+
+	/**
+	 * Builds a configuration from the given key/value pairs without any file,
+	 * environment or system property layering.
+	 *
+	 * @param values Configuration entries
+	 * @return A standalone Configuration instance
+	 */
+	public static Configuration of(Map<String, String> values) {
+		return new Configuration(new HashMap<>(values), Collections.emptyMap());
+	}
+
+	/**
+	 * Loads a fresh layered configuration. The file location can be changed with
+	 * the "config.file" system property. Tests should use {@link #get()}; this is
+	 * exposed for tooling that needs to measure or compare loads.
+	 *
+	 * @return A new Configuration instance
+	 */
+	public static Configuration load() {
+		Properties file = new Properties();
+		Path path = Paths.get(System.getProperty("config.file", DEFAULT_CONFIG_FILE));
+		try (InputStream in = Files.isRegularFile(path) ? Files.newInputStream(path)
+				: Configuration.class.getClassLoader().getResourceAsStream(CONFIG_RESOURCE)) {
+			if (in == null) {
+				throw new IllegalStateException("Config file not found: " + path.toAbsolutePath());
+			}
+			file.load(in);
+		} catch (IOException e) {
+			throw new IllegalStateException("Config file could not be read: " + e.getMessage());
+		}
+		return layer(file, System.getenv(), System.getProperties());
+	}
+
+	/**
+	 * Layers the file's entries, environment variables and system properties,
+	 * each overriding the ones before.
+	 *
+	 * @param file   Entries read from the config file
+	 * @param env    Environment variables
+	 * @param system System properties
+	 * @return A new Configuration instance
+	 */
+	static Configuration layer(Properties file, Map<String, String> env, Properties system) {
+		Map<String, String> values = new HashMap<>();
+		for (String key : file.stringPropertyNames()) {
+			values.put(key, file.getProperty(key).trim());
+		}
+
+		// Environment variables override keys in the file here, other keys on lookup
+		for (String key : file.stringPropertyNames()) {
+			String override = env.get(environmentName(key));
+			if (override != null) {
+				values.put(key, override.trim());
+			}
+		}
+
+		// System properties win over everything else
+		for (String key : system.stringPropertyNames()) {
+			values.put(key, system.getProperty(key).trim());
+		}
+		return new Configuration(values, env);
+	}
+
+	/**
+	 * Gets an optional value.
+	 *
+	 * @param key The configuration key
+	 * @return The value, or empty if the key is not set
+	 */
+	public Optional<String> find(String key) {
+		String value = values.get(key);
+		if (value == null) {
+			value = environment.get(environmentName(key));
+			value = value == null ? null : value.trim();
+		}
+		return value == null || value.isEmpty() ? Optional.empty() : Optional.of(value);
+	}
+
+	/**
+	 * Gets a required string value.
+	 *
+	 * @param key The configuration key
+	 * @return The configured value
+	 * @throws IllegalStateException if the key is not set
+	 */
+	public String getString(String key) {
+		return find(key).orElseThrow(() -> new IllegalStateException("Missing configuration key: " + key));
+	}
+
+	/**
+	 * Gets a string value with a default.
+	 *
+	 * @param key          The configuration key
+	 * @param defaultValue Value used when the key is not set
+	 * @return The configured or default value
+	 */
+	public String getString(String key, String defaultValue) {
+		return find(key).orElse(defaultValue);
+	}
+
+	/**
+	 * Gets an int value with a default.
+	 *
+	 * @param key          The configuration key
+	 * @param defaultValue Value used when the key is not set
+	 * @return The configured or default value
+	 * @throws IllegalArgumentException if the value is not a valid int
+	 */
+	public int getInt(String key, int defaultValue) {
+		return find(key).map(value -> {
+			try {
+				return Integer.parseInt(value);
+			} catch (NumberFormatException e) {
+				throw new IllegalArgumentException("Invalid int for " + key + ": " + value);
+			}
+		}).orElse(defaultValue);
+	}
+
+	/**
+	 * Gets a long value with a default.
+	 *
+	 * @param key          The configuration key
+	 * @param defaultValue Value used when the key is not set
+	 * @return The configured or default value
+	 * @throws IllegalArgumentException if the value is not a valid long
+	 */
+	public long getLong(String key, long defaultValue) {
+		return find(key).map(value -> {
+			try {
+				return Long.parseLong(value);
+			} catch (NumberFormatException e) {
+				throw new IllegalArgumentException("Invalid long for " + key + ": " + value);
+			}
+		}).orElse(defaultValue);
+	}
+
+	/**
+	 * Gets a boolean value with a default.
+	 *
+	 * @param key          The configuration key
+	 * @param defaultValue Value used when the key is not set
+	 * @return The configured or default value
+	 */
+	public boolean getBoolean(String key, boolean defaultValue) {
+		return find(key).map(Boolean::parseBoolean).orElse(defaultValue);
+	}
+
+	/**
+	 * Gets a duration value with a default. Accepts ISO-8601 durations
+	 * ("PT10S"), numbers with a unit suffix ("250ms", "10s", "2m", "1h") or plain
+	 * numbers, which are read as milliseconds.
+	 *
+	 * @param key          The configuration key
+	 * @param defaultValue Value used when the key is not set
+	 * @return The configured or default value
+	 * @throws IllegalArgumentException if the value is not a valid duration
+	 */
+	public Duration getDuration(String key, Duration defaultValue) {
+		return find(key).map(value -> parseDuration(key, value)).orElse(defaultValue);
+	}
+
+	/**
+	 * Gets a required URL value.
+	 *
+	 * @param key The configuration key
+	 * @return The configured URL
+	 * @throws IllegalStateException    if the key is not set
+	 * @throws IllegalArgumentException if the value is not a valid URL
+	 */
+	public URL getUrl(String key) {
+		String value = getString(key);
+		try {
+			return new URL(value);
+		} catch (MalformedURLException e) {
+			throw new IllegalArgumentException("Invalid URL for " + key + ": " + value);
+		}
+	}
+
+	/**
+	 * Gets all entries whose key starts with the given prefix, with the prefix
+	 * removed.
+	 *
+	 * @param prefix Key prefix such as "profile.headless."
+	 * @return Matching entries keyed by the remainder of the key
+	 */
+	public Map<String, String> withPrefix(String prefix) {
+		Map<String, String> matches = new HashMap<>();
+		for (Map.Entry<String, String> entry : values.entrySet()) {
+			if (entry.getKey().startsWith(prefix)) {
+				matches.put(entry.getKey().substring(prefix.length()), entry.getValue());
+			}
+		}
+		return matches;
+	}
+
+	private static String environmentName(String key) {
+		return key.toUpperCase(Locale.ROOT).replace('.', '_');
+	}
+
+	private static Duration parseDuration(String key, String value) {
+		String text = value.toLowerCase(Locale.ROOT);
+		try {
+			if (text.startsWith("p")) {
+				return Duration.parse(value.toUpperCase(Locale.ROOT));
+			} else if (text.endsWith("ms")) {
+				return Duration.ofMillis(Long.parseLong(text.substring(0, text.length() - 2).trim()));
+			} else if (text.endsWith("s")) {
+				return Duration.ofSeconds(Long.parseLong(text.substring(0, text.length() - 1).trim()));
+			} else if (text.endsWith("m")) {
+				return Duration.ofMinutes(Long.parseLong(text.substring(0, text.length() - 1).trim()));
+			} else if (text.endsWith("h")) {
+				return Duration.ofHours(Long.parseLong(text.substring(0, text.length() - 1).trim()));
+			}
+			return Duration.ofMillis(Long.parseLong(text));
+		} catch (NumberFormatException | DateTimeParseException e) {
+			throw new IllegalArgumentException("Invalid duration for " + key + ": " + value);
+		}
+	}
+}
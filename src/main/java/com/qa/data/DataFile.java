@@ -0,0 +1,364 @@
+package com.qa.data;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+import com.qa.config.Configuration;
+
+/**
+ * Test data stored in a CSV file (with a header line) or a JSON Lines file,
+ * streamed row by row for TestNG data providers.
+ *
+ * The file is memory-mapped in windows of up to 256 MB and rows are found by
+ * scanning for line breaks, so even files with millions of rows never sit on
+ * the heap: only the lines of rows handed out are copied, and a row's values
+ * are decoded only when they are read. Each record must fit on one line, and
+ * blank lines are skipped.
+ *
+ * A DataFile is an immutable description: {@link #shard(int, int)},
+ * {@link #filter(Predicate)}, {@link #limit(long)} and {@link #columns(String...)}
+ * return narrowed copies, and every call to {@link #rows()} reads the file
+ * afresh.
+ *
+ * <pre>
+ * &#64;DataProvider(name = "LoginFileData")
+ * public Iterator&lt;Object[]&gt; loginFileData() {
+ *     return DataFile.open(Paths.get("login.csv")).shard(Configuration.get()).parameters();
+ * }
+ * </pre>
+ */
+public final class DataFile {
+
+	/**
+	 * Supported file formats.
+	 */
+	public enum Format {
+		/** Comma-separated values; the first line names the columns */
+		CSV,
+		/** One JSON object per line; keys name the columns */
+		JSONL
+	}
+
+	private static final long WINDOW_SIZE = 256L << 20;
+
+	private final Path path;
+	private final Format format;
+	private final List<String> columns;
+	private final int shardIndex;
+	private final int shardCount;
+	private final Predicate<DataRow> filter;
+	private final long limit;
+	private final long windowSize;
+
+	private DataFile(Path path, Format format, List<String> columns, int shardIndex, int shardCount,
+			Predicate<DataRow> filter, long limit, long windowSize) {
+		this.path = path;
+		this.format = format;
+		this.columns = columns;
+		this.shardIndex = shardIndex;
+		this.shardCount = shardCount;
+		this.filter = filter;
+		this.limit = limit;
+		this.windowSize = windowSize;
+	}
+
+	/**
+	 * Opens a file, choosing the format by extension: ".csv", or ".jsonl" and
+	 * ".ndjson".
+	 *
+	 * @param path The file
+	 * @return All rows of the file
+	 * @throws IllegalArgumentException if the extension is not recognised
+	 */
+	public static DataFile open(Path path) {
+		String name = path.getFileName().toString().toLowerCase();
+		if (name.endsWith(".csv")) {
+			return csv(path);
+		}
+		if (name.endsWith(".jsonl") || name.endsWith(".ndjson")) {
+			return jsonl(path);
+		}
+		throw new IllegalArgumentException("Unknown data file format: " + path);
+	}
+
+	/**
+	 * @param path A CSV file whose first line names the columns
+	 * @return All rows of the file
+	 */
+	public static DataFile csv(Path path) {
+		return new DataFile(path, Format.CSV, null, 0, 1, null, Long.MAX_VALUE, WINDOW_SIZE);
+	}
+
+	/**
+	 * @param path A JSON Lines file; columns default to the keys of its first
+	 *             object
+	 * @return All rows of the file
+	 */
+	public static DataFile jsonl(Path path) {
+		return new DataFile(path, Format.JSONL, null, 0, 1, null, Long.MAX_VALUE, WINDOW_SIZE);
+	}
+
+	/**
+	 * Selects and orders the columns rows expose.
+	 *
+	 * @param names Column names
+	 * @return A copy reading only these columns
+	 */
+	public DataFile columns(String... names) {
+		return new DataFile(path, format, Collections.unmodifiableList(Arrays.asList(names.clone())), shardIndex,
+				shardCount, filter, limit, windowSize);
+	}
+
+	/**
+	 * Keeps every {@code count}-th row starting at {@code index}, counting all
+	 * rows of the file, so shards of one file never overlap and together cover
+	 * it whatever the filter.
+	 *
+	 * @param index 0-based shard to keep
+	 * @param count Number of shards
+	 * @return A copy reading one shard
+	 * @throws IllegalArgumentException if index is not in [0, count)
+	 */
+	public DataFile shard(int index, int count) {
+		if (count < 1 || index < 0 || index >= count) {
+			throw new IllegalArgumentException("Invalid shard " + index + "/" + count);
+		}
+		return new DataFile(path, format, columns, index, count, filter, limit, windowSize);
+	}
+
+	/**
+	 * Applies the "data.shard" setting, e.g. "2/4" for the third of four shards,
+	 * so CI jobs can split one file between them.
+	 *
+	 * @param config Configuration holding the setting
+	 * @return A copy reading the configured shard, or this file if none is set
+	 */
+	public DataFile shard(Configuration config) {
+		return config.find("data.shard").map(value -> {
+			String[] parts = value.split("/");
+			if (parts.length != 2) {
+				throw new IllegalArgumentException("data.shard must be <index>/<count>: " + value);
+			}
+			return shard(Integer.parseInt(parts[0].trim()), Integer.parseInt(parts[1].trim()));
+		}).orElse(this);
+	}
+
+	/**
+	 * @param condition Rows to keep; combined with any earlier filter
+	 * @return A copy reading only matching rows
+	 */
+	public DataFile filter(Predicate<DataRow> condition) {
+		return new DataFile(path, format, columns, shardIndex, shardCount,
+				filter == null ? condition : filter.and(condition), limit, windowSize);
+	}
+
+	/**
+	 * @param maxRows Maximum number of rows to read
+	 * @return A copy reading at most that many rows
+	 */
+	public DataFile limit(long maxRows) {
+		return new DataFile(path, format, columns, shardIndex, shardCount, filter, Math.min(limit, maxRows),
+				windowSize);
+	}
+
+	/**
+	 * @param bytes Size of the mapped windows; lines must be shorter
+	 * @return A copy mapping the file in windows of that size
+	 */
+	DataFile windowSize(long bytes) {
+		return new DataFile(path, format, columns, shardIndex, shardCount, filter, limit, bytes);
+	}
+
+	/**
+	 * @return A lazy iterator over the selected rows; the file is mapped on the
+	 *         first call to hasNext
+	 */
+	public Iterator<DataRow> rows() {
+		return new RowIterator();
+	}
+
+	/**
+	 * @return The selected rows as data provider parameters, one String per
+	 *         column, decoded as TestNG asks for each row
+	 */
+	public Iterator<Object[]> parameters() {
+		return map(rows(), row -> (Object[]) row.toArray());
+	}
+
+	/**
+	 * Supplies each row as a single {@link DataRow} parameter. TestNG collects
+	 * all rows of a {@code parallel = true} provider before running them, so
+	 * such providers should use this form: rows hold only their line's bytes,
+	 * not the mapped file, and stay undecoded until their test reads them.
+	 *
+	 * @return The selected rows as single-parameter arrays
+	 */
+	public Iterator<Object[]> rowParameters() {
+		return map(rows(), row -> new Object[] { row });
+	}
+
+	private static Iterator<Object[]> map(Iterator<DataRow> rows, Function<DataRow, Object[]> mapper) {
+		return new Iterator<Object[]>() {
+			@Override
+			public boolean hasNext() {
+				return rows.hasNext();
+			}
+
+			@Override
+			public Object[] next() {
+				return mapper.apply(rows.next());
+			}
+		};
+	}
+
+	/* Walks the file line by line, remapping the window when a line crosses its end. */
+	private final class RowIterator implements Iterator<DataRow> {
+
+		private long fileSize = -1;
+		private MappedByteBuffer window;
+		private long windowStart;
+		private int position;
+		private long lineNumber;
+		private long dataRows;
+		private long returned;
+		private List<String> rowColumns;
+		private int[] sources;
+		private DataRow next;
+
+		@Override
+		public boolean hasNext() {
+			if (next == null && returned < limit) {
+				next = advance();
+			}
+			return next != null;
+		}
+
+		@Override
+		public DataRow next() {
+			if (!hasNext()) {
+				throw new NoSuchElementException();
+			}
+			DataRow row = next;
+			next = null;
+			returned++;
+			return row;
+		}
+
+		private DataRow advance() {
+			int[] line = new int[2];
+			while (nextLine(line)) {
+				if (rowColumns == null) {
+					String first = text(line);
+					if (format == Format.CSV) {
+						readHeader(DataRow.splitCsv(first));
+						continue;
+					}
+					rowColumns = columns != null ? columns : DataRow.jsonKeys(first);
+				}
+				if (dataRows++ % shardCount != shardIndex) {
+					continue;
+				}
+				DataRow row = new DataRow(bytes(line), lineNumber, format, rowColumns, sources);
+				if (filter == null || filter.test(row)) {
+					return row;
+				}
+			}
+			return null;
+		}
+
+		private void readHeader(List<String> header) {
+			rowColumns = columns != null ? columns : Collections.unmodifiableList(header);
+			sources = new int[rowColumns.size()];
+			for (int i = 0; i < sources.length; i++) {
+				sources[i] = header.indexOf(rowColumns.get(i));
+				if (sources[i] < 0) {
+					throw new IllegalArgumentException(
+							"Column '" + rowColumns.get(i) + "' not found in " + path + ", which has " + header);
+				}
+			}
+		}
+
+		/**
+		 * Finds the next non-blank line.
+		 *
+		 * @param line Receives the line's offset and length within the window
+		 * @return false at the end of the file
+		 */
+		private boolean nextLine(int[] line) {
+			if (fileSize < 0) {
+				map(0);
+			}
+			while (windowStart + position < fileSize) {
+				int end = position;
+				while (end < window.limit() && window.get(end) != '\n') {
+					end++;
+				}
+				if (end == window.limit() && windowStart + end < fileSize) {
+					if (position == 0) {
+						throw new IllegalStateException("Line " + (lineNumber + 1) + " of " + path + " is too long");
+					}
+					map(windowStart + position);
+					continue;
+				}
+				int start = position;
+				position = end + 1;
+				lineNumber++;
+				int length = end - start;
+				if (length > 0 && window.get(start + length - 1) == '\r') {
+					length--;
+				}
+				if (length > 0 && !isBlank(start, length)) {
+					line[0] = start;
+					line[1] = length;
+					return true;
+				}
+			}
+			return false;
+		}
+
+		private boolean isBlank(int start, int length) {
+			for (int i = start; i < start + length; i++) {
+				byte b = window.get(i);
+				if (b != ' ' && b != '\t') {
+					return false;
+				}
+			}
+			return true;
+		}
+
+		private String text(int[] line) {
+			return new String(bytes(line), StandardCharsets.UTF_8);
+		}
+
+		private byte[] bytes(int[] line) {
+			byte[] bytes = new byte[line[1]];
+			ByteBuffer view = window.duplicate();
+			view.position(line[0]);
+			view.get(bytes);
+			return bytes;
+		}
+
+		private void map(long start) {
+			try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+				fileSize = channel.size();
+				window = channel.map(FileChannel.MapMode.READ_ONLY, start, Math.min(windowSize, fileSize - start));
+				windowStart = start;
+				position = 0;
+			} catch (IOException e) {
+				throw new IllegalStateException("Data file could not be read: " + path + ": " + e.getMessage());
+			}
+		}
+	}
+}
@@ -0,0 +1,164 @@
+package com.qa.data;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import org.openqa.selenium.json.Json;
+
+/**
+ * One record of a {@link DataFile}: the raw bytes of its line, copied out of
+ * the memory-mapped file and only decoded when its values are first read.
+ *
+ * Until then a row costs its line's bytes and a few fields, and holds no
+ * reference to the mapping, so rows a parallel provider hands TestNG do not
+ * keep the file's windows mapped. Values are
+ * addressed by column name or by position in {@link #getColumns()}; missing
+ * values are null.
+ */
+public final class DataRow {
+
+	private static final Json JSON = new Json();
+
+	private final byte[] line;
+	private final long lineNumber;
+	private final DataFile.Format format;
+	private final List<String> columns;
+	private final int[] sources;
+	private volatile String[] values;
+
+	DataRow(byte[] line, long lineNumber, DataFile.Format format, List<String> columns, int[] sources) {
+		this.line = line;
+		this.lineNumber = lineNumber;
+		this.format = format;
+		this.columns = columns;
+		this.sources = sources;
+	}
+
+	/**
+	 * @param column Column name
+	 * @return The value, or null if the row has none for the column
+	 * @throws IllegalArgumentException if the file has no such column
+	 */
+	public String get(String column) {
+		int index = columns.indexOf(column);
+		if (index < 0) {
+			throw new IllegalArgumentException("Unknown column '" + column + "', expected one of " + columns);
+		}
+		return get(index);
+	}
+
+	/**
+	 * @param index Position of the column in {@link #getColumns()}
+	 * @return The value, or null if the row has none for the column
+	 */
+	public String get(int index) {
+		return values()[index];
+	}
+
+	/**
+	 * @return Names of the row's columns, in order
+	 */
+	public List<String> getColumns() {
+		return columns;
+	}
+
+	/**
+	 * @return 1-based line number of the row in its file
+	 */
+	public long getLineNumber() {
+		return lineNumber;
+	}
+
+	/**
+	 * @return The row's values in column order
+	 */
+	public String[] toArray() {
+		return values().clone();
+	}
+
+	@Override
+	public String toString() {
+		return text();
+	}
+
+	private String[] values() {
+		String[] decoded = values;
+		if (decoded == null) {
+			decoded = format == DataFile.Format.CSV ? fromCsv(text()) : fromJson(text());
+			values = decoded;
+		}
+		return decoded;
+	}
+
+	private String text() {
+		return new String(line, StandardCharsets.UTF_8);
+	}
+
+	private String[] fromCsv(String line) {
+		List<String> fields = splitCsv(line);
+		String[] decoded = new String[columns.size()];
+		for (int i = 0; i < decoded.length; i++) {
+			decoded[i] = sources[i] < fields.size() ? fields.get(sources[i]) : null;
+		}
+		return decoded;
+	}
+
+	private String[] fromJson(String line) {
+		Map<String, Object> object = JSON.toType(line, Json.MAP_TYPE);
+		String[] decoded = new String[columns.size()];
+		for (int i = 0; i < decoded.length; i++) {
+			Object value = object.get(columns.get(i));
+			decoded[i] = value == null ? null : String.valueOf(value);
+		}
+		return decoded;
+	}
+
+	/**
+	 * Splits an RFC 4180 record: fields may be quoted, with doubled quotes
+	 * inside quoted fields.
+	 *
+	 * @param line The record
+	 * @return The unquoted fields
+	 */
+	static List<String> splitCsv(String line) {
+		List<String> fields = new ArrayList<>();
+		StringBuilder field = new StringBuilder();
+		boolean quoted = false;
+		for (int i = 0; i < line.length(); i++) {
+			char c = line.charAt(i);
+			if (quoted) {
+				if (c != '"') {
+					field.append(c);
+				} else if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+					field.append('"');
+					i++;
+				} else {
+					quoted = false;
+				}
+			} else if (c == '"') {
+				quoted = true;
+			} else if (c == ',') {
+				fields.add(field.toString());
+				field.setLength(0);
+			} else {
+				field.append(c);
+			}
+		}
+		fields.add(field.toString());
+		return fields;
+	}
+
+	/**
+	 * Reads the keys of a JSON object line, in order.
+	 *
+	 * @param line The line
+	 * @return The keys
+	 */
+	static List<String> jsonKeys(String line) {
+		Map<String, Object> object = JSON.toType(line, Json.MAP_TYPE);
+		return Arrays.asList(object.keySet().toArray(new String[0]));
+	}
+}
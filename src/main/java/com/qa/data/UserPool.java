@@ -0,0 +1,240 @@
+package com.qa.data;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.lang.ref.WeakReference;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+import com.qa.config.Configuration;
+import com.qa.utility.DataGenerator;
+
+/**
+ * Pool of pre-generated {@link UserRecord}s, so tests take ready-made users
+ * instead of generating them in the middle of a browser session.
+ *
+ * Every worker thread gets its own bounded lock-free queue of
+ * "data.pool.capacity" records (64 by default). A background thread fills the
+ * queues and is woken when one drops to half full; if a worker still finds its
+ * queue empty, it generates a record inline rather than wait. When a worker
+ * thread ends, its queue is dropped and its unused records go to the next
+ * workers.
+ *
+ * Pools can be persisted with {@link #persist(Path, int)} and reloaded with
+ * {@link #load(Path)}, or at start-up from the "data.pool.file" setting.
+ * The refill thread queues reloaded records before generating new ones. Each
+ * record is handed out once per run, but a file reloaded against the same store
+ * repeats emails registered by earlier runs.
+ */
+public final class UserPool {
+
+	private static final class Holder {
+		private static final UserPool INSTANCE = new UserPool(Configuration.get());
+	}
+
+	/* Header of pool files: "QAUP" and the format version. */
+	private static final int FILE_MAGIC = 0x51415550;
+	private static final int FILE_VERSION = 1;
+
+	private static final long REFILL_INTERVAL = TimeUnit.MILLISECONDS.toNanos(100);
+
+	/* Per-thread queue and the generator used when it runs dry. */
+	private static final class Worker {
+		private final UserQueue<UserRecord> queue;
+		private final DataGenerator generator = new DataGenerator();
+
+		private Worker(int capacity) {
+			this.queue = new UserQueue<>(capacity);
+		}
+	}
+
+	/* A worker queue and the thread it belongs to, held weakly. */
+	private static final class Registration {
+		private final WeakReference<Thread> owner;
+		private final UserQueue<UserRecord> queue;
+
+		private Registration(Thread owner, UserQueue<UserRecord> queue) {
+			this.owner = new WeakReference<>(owner);
+			this.queue = queue;
+		}
+
+		private boolean isOwnerAlive() {
+			Thread thread = owner.get();
+			return thread != null && thread.isAlive();
+		}
+	}
+
+	private final int capacity;
+	private final DataGenerator generator = new DataGenerator();
+	private final Queue<UserRecord> preloaded = new ConcurrentLinkedQueue<>();
+	private final List<Registration> registrations = new CopyOnWriteArrayList<>();
+	private final ThreadLocal<Worker> workers = ThreadLocal.withInitial(this::register);
+	private final LongAdder generatedInline = new LongAdder();
+	private final Thread refiller;
+
+	private UserPool(Configuration config) {
+		this(config.getInt("data.pool.capacity", 64));
+		config.find("data.pool.file").map(Paths::get).filter(Files::isRegularFile).ifPresent(this::load);
+	}
+
+	/**
+	 * @param capacity Number of records queued per worker thread
+	 */
+	UserPool(int capacity) {
+		this.capacity = capacity;
+		this.refiller = new Thread(this::refill, "user-pool-refill");
+		refiller.setDaemon(true);
+		refiller.start();
+	}
+
+	/**
+	 * @return The shared pool, started on first use
+	 */
+	public static UserPool get() {
+		return Holder.INSTANCE;
+	}
+
+	/**
+	 * Takes a user from the calling thread's queue. Never blocks.
+	 *
+	 * @return A user not handed out before in this run
+	 */
+	public UserRecord take() {
+		Worker worker = workers.get();
+		UserRecord user = worker.queue.poll();
+		if (worker.queue.size() <= worker.queue.capacity() / 2) {
+			LockSupport.unpark(refiller);
+		}
+		if (user == null) {
+			generatedInline.increment();
+			user = UserRecord.generate(worker.generator);
+		}
+		return user;
+	}
+
+	/**
+	 * Reads a pool file; its records are queued before any newly generated ones.
+	 *
+	 * @param file A file written by {@link #persist(Path, int)}
+	 * @return Number of records read
+	 * @throws IllegalStateException if the file cannot be read or is not a pool
+	 *                               file
+	 */
+	public int load(Path file) {
+		try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+			if (in.readInt() != FILE_MAGIC || in.readInt() != FILE_VERSION) {
+				throw new IllegalStateException("Not a user pool file: " + file);
+			}
+			int count = in.readInt();
+			for (int i = 0; i < count; i++) {
+				preloaded.add(new UserRecord(in.readUTF(), in.readUTF(), in.readUTF(), in.readUTF(), in.readUTF()));
+			}
+			LockSupport.unpark(refiller);
+			return count;
+		} catch (IOException e) {
+			throw new IllegalStateException("User pool could not be read from " + file + ": " + e.getMessage());
+		}
+	}
+
+	/**
+	 * Takes users from the pool and writes them to a compact binary file, for
+	 * later runs to {@link #load(Path)}.
+	 *
+	 * @param file  Destination file, replaced if it exists
+	 * @param count Number of users to write
+	 * @throws IllegalStateException if the file cannot be written
+	 */
+	public void persist(Path file, int count) {
+		try {
+			if (file.toAbsolutePath().getParent() != null) {
+				Files.createDirectories(file.toAbsolutePath().getParent());
+			}
+			try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file)))) {
+				out.writeInt(FILE_MAGIC);
+				out.writeInt(FILE_VERSION);
+				out.writeInt(count);
+				for (int i = 0; i < count; i++) {
+					UserRecord user = take();
+					out.writeUTF(user.getFirstName());
+					out.writeUTF(user.getLastName());
+					out.writeUTF(user.getEmail());
+					out.writeUTF(user.getTelephone());
+					out.writeUTF(user.getPassword());
+				}
+			}
+		} catch (IOException e) {
+			throw new IllegalStateException("User pool could not be written to " + file + ": " + e.getMessage());
+		}
+	}
+
+	/**
+	 * @return Number of users workers had to generate themselves because their
+	 *         queue was empty; a steadily growing value means the pool is too
+	 *         small
+	 */
+	public long getGeneratedInline() {
+		return generatedInline.sum();
+	}
+
+	/**
+	 * @return Number of records in the calling thread's queue
+	 */
+	int getQueued() {
+		return workers.get().queue.size();
+	}
+
+	/**
+	 * @return Number of worker queues the refill thread still fills
+	 */
+	int getWorkerCount() {
+		return registrations.size();
+	}
+
+	/**
+	 * @return Number of loaded or reclaimed records waiting for a worker queue
+	 */
+	int getPreloadedCount() {
+		return preloaded.size();
+	}
+
+	private Worker register() {
+		Worker worker = new Worker(capacity);
+		registrations.add(new Registration(Thread.currentThread(), worker.queue));
+		LockSupport.unpark(refiller);
+		return worker;
+	}
+
+	/* Single producer for every worker queue. */
+	private void refill() {
+		while (true) {
+			for (Registration registration : registrations) {
+				UserQueue<UserRecord> queue = registration.queue;
+				if (!registration.isOwnerAlive()) {
+					// The consumer has ended, so this thread may drain its queue
+					UserRecord user;
+					while ((user = queue.poll()) != null) {
+						preloaded.add(user);
+					}
+					registrations.remove(registration);
+					continue;
+				}
+				while (queue.size() < queue.capacity()) {
+					UserRecord user = preloaded.poll();
+					queue.offer(user != null ? user : UserRecord.generate(generator));
+				}
+			}
+			LockSupport.parkNanos(this, REFILL_INTERVAL);
+		}
+	}
+}
@@ -0,0 +1,77 @@
+package com.qa.data;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Bounded, lock-free single-producer/single-consumer queue.
+ *
+ * Each side owns one counter and only reads the other's, so neither offer nor
+ * poll ever retries or takes a lock. Slots and counters are published with
+ * ordered writes, which is all a single producer and consumer need.
+ *
+ * @param <T> Type of the queued items
+ */
+final class UserQueue<T> {
+
+	private final AtomicReferenceArray<T> slots;
+	private final int mask;
+	private final AtomicLong head = new AtomicLong();
+	private final AtomicLong tail = new AtomicLong();
+
+	/**
+	 * @param capacity Number of slots, rounded up to a power of two
+	 */
+	UserQueue(int capacity) {
+		int size = Integer.highestOneBit(Math.max(2, capacity - 1)) << 1;
+		this.slots = new AtomicReferenceArray<>(size);
+		this.mask = size - 1;
+	}
+
+	/**
+	 * Adds an item. Must only be called by the single producer.
+	 *
+	 * @param item The item to add
+	 * @return false if the queue is full
+	 */
+	boolean offer(T item) {
+		long position = tail.get();
+		if (position - head.get() == slots.length()) {
+			return false;
+		}
+		slots.lazySet((int) position & mask, item);
+		tail.lazySet(position + 1);
+		return true;
+	}
+
+	/**
+	 * Takes the oldest item. Must only be called by the single consumer.
+	 *
+	 * @return The item, or null if the queue is empty
+	 */
+	T poll() {
+		long position = head.get();
+		if (position == tail.get()) {
+			return null;
+		}
+		int index = (int) position & mask;
+		T item = slots.get(index);
+		slots.lazySet(index, null);
+		head.lazySet(position + 1);
+		return item;
+	}
+
+	/**
+	 * @return Number of queued items; approximate while either side is active
+	 */
+	int size() {
+		return (int) (tail.get() - head.get());
+	}
+
+	/**
+	 * @return Number of slots
+	 */
+	int capacity() {
+		return slots.length();
+	}
+}
@@ -0,0 +1,67 @@
+package com.qa.data;
+
+import com.qa.utility.DataGenerator;
+
+/**
+ * Immutable set of details for one test user, as entered on the registration
+ * form.
+ */
+public final class UserRecord {
+
+	private final String firstName;
+	private final String lastName;
+	private final String email;
+	private final String telephone;
+	private final String password;
+
+	/**
+	 * @param firstName First name
+	 * @param lastName  Last name
+	 * @param email     Email address, unique for the run
+	 * @param telephone 10-digit phone number
+	 * @param password  Password meeting the store's rules
+	 */
+	public UserRecord(String firstName, String lastName, String email, String telephone, String password) {
+		this.firstName = firstName;
+		this.lastName = lastName;
+		this.email = email;
+		this.telephone = telephone;
+		this.password = password;
+	}
+
+	/**
+	 * Generates a fresh user.
+	 *
+	 * @param generator Source of the random values
+	 * @return The new user
+	 */
+	public static UserRecord generate(DataGenerator generator) {
+		return new UserRecord(generator.generateRandomName(), generator.generateRandomName(),
+				generator.generateRandomEmail(), generator.generateRandomNumber(), generator.generateRandomPassword());
+	}
+
+	public String getFirstName() {
+		return firstName;
+	}
+
+	public String getLastName() {
+		return lastName;
+	}
+
+	public String getEmail() {
+		return email;
+	}
+
+	public String getTelephone() {
+		return telephone;
+	}
+
+	public String getPassword() {
+		return password;
+	}
+
+	@Override
+	public String toString() {
+		return firstName + " " + lastName + " <" + email + ">";
+	}
+}
@@ -0,0 +1,251 @@
+package com.qa.driver;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import org.openqa.selenium.NoSuchWindowException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.chrome.ChromeDriverService;
+import org.openqa.selenium.chrome.ChromeOptions;
+import org.openqa.selenium.chromium.ChromiumOptions;
+import org.openqa.selenium.edge.EdgeDriverService;
+import org.openqa.selenium.edge.EdgeOptions;
+import org.openqa.selenium.remote.RemoteWebDriver;
+import org.openqa.selenium.remote.service.DriverService;
+
+/**
+ * Runs many isolated sessions inside one Chrome or Edge process per profile.
+ *
+ * The first session of a profile launches the browser through the regular
+ * factory. Every session then gets a fresh browser context (an incognito-like
+ * partition with its own cookies, storage and cache) created over the
+ * DevTools protocol, and a driver session attached to the running browser
+ * that only sees the context's windows. Quitting a session disposes its
+ * context; the browser is shut down with the JVM.
+ *
+ * Registered as "chrome-contexts" and "edge-contexts". Concurrency is still
+ * bounded by the driver pool, but each extra session costs a renderer rather
+ * than a whole browser.
+ */
+public class BrowserContextFactory implements DriverFactory {
+
+	private final String browser;
+	private final Map<String, LazyBrowser> browsers = new ConcurrentHashMap<>();
+
+	/**
+	 * @param browser "chrome" or "edge"
+	 */
+	public BrowserContextFactory(String browser) {
+		if (!browser.equals("chrome") && !browser.equals("edge")) {
+			throw new IllegalArgumentException("Browser contexts need Chrome or Edge, not " + browser);
+		}
+		this.browser = browser;
+	}
+
+	@Override
+	public WebDriver create(BrowserProfile profile) {
+		// The browser is launched outside the map, by the first session of the profile
+		return browsers.computeIfAbsent(profile.getName(), name -> new LazyBrowser(browser, profile)).get()
+				.newContext();
+	}
+
+	/**
+	 * Launches a profile's shared browser on first use. Sessions of the same
+	 * profile wait for the launch; a failed launch is retried by the next
+	 * session.
+	 */
+	private static final class LazyBrowser {
+		private final String browser;
+		private final BrowserProfile profile;
+		private SharedBrowser shared;
+
+		private LazyBrowser(String browser, BrowserProfile profile) {
+			this.browser = browser;
+			this.profile = profile;
+		}
+
+		private synchronized SharedBrowser get() {
+			if (shared == null) {
+				shared = new SharedBrowser(browser, profile);
+			}
+			return shared;
+		}
+	}
+
+	/**
+	 * One running browser, its DevTools connection and the driver service the
+	 * context sessions attach through.
+	 */
+	private static final class SharedBrowser {
+		private final String browser;
+		private final WebDriver host;
+		private final String debuggerAddress;
+		private final CdpConnection cdp;
+		private final DriverService service;
+
+		private SharedBrowser(String browser, BrowserProfile profile) {
+			this.browser = browser;
+			this.host = DriverFactories.forBrowser(browser).create(profile);
+			String optionsKey = browser.equals("edge") ? "ms:edgeOptions" : "goog:chromeOptions";
+			Object options = ((RemoteWebDriver) host).getCapabilities().getCapability(optionsKey);
+			Object address = options instanceof Map ? ((Map<?, ?>) options).get("debuggerAddress") : null;
+			if (address == null) {
+				host.quit();
+				throw new WebDriverException("The " + browser + " driver did not report a debugger address");
+			}
+			this.debuggerAddress = address.toString();
+
+			// Quit the launched browser if anything after the launch fails
+			CdpConnection connection = null;
+			DriverService driverService = null;
+			try {
+				connection = new CdpConnection(debuggerAddress);
+				driverService = browser.equals("edge") ? EdgeDriverService.createDefaultService()
+						: ChromeDriverService.createDefaultService();
+				driverService.start();
+			} catch (IOException | RuntimeException e) {
+				if (driverService != null) {
+					driverService.stop();
+				}
+				if (connection != null) {
+					connection.close();
+				}
+				host.quit();
+				throw e instanceof WebDriverException ? (WebDriverException) e
+						: new WebDriverException("Shared " + browser + " for contexts did not start", e);
+			}
+			this.cdp = connection;
+			this.service = driverService;
+			Runtime.getRuntime().addShutdownHook(new Thread(this::shutdown, browser + "-contexts-shutdown"));
+		}
+
+		private WebDriver newContext() {
+			Map<String, Object> context = cdp.send("Target.createBrowserContext",
+					Collections.singletonMap("disposeOnDetach", false));
+			String contextId = String.valueOf(context.get("browserContextId"));
+			try {
+				Map<String, Object> target = new HashMap<>();
+				target.put("url", "about:blank");
+				target.put("browserContextId", contextId);
+				String targetId = String.valueOf(cdp.send("Target.createTarget", target).get("targetId"));
+
+				ChromiumOptions<?> options = browser.equals("edge") ? new EdgeOptions() : new ChromeOptions();
+				options.setExperimentalOption("debuggerAddress", debuggerAddress);
+				ContextDriver driver = new ContextDriver(this, options, contextId);
+				driver.switchToTarget(targetId);
+				return driver;
+			} catch (RuntimeException e) {
+				dispose(contextId);
+				throw e;
+			}
+		}
+
+		/**
+		 * @return Target ids of the context's pages, which are also their window
+		 *         handles
+		 */
+		private Set<String> pagesOf(String contextId) {
+			Set<String> pages = new LinkedHashSet<>();
+			Object targets = cdp.send("Target.getTargets", Collections.emptyMap()).get("targetInfos");
+			for (Object target : (List<?>) targets) {
+				Map<?, ?> info = (Map<?, ?>) target;
+				if (contextId.equals(info.get("browserContextId")) && "page".equals(info.get("type"))) {
+					pages.add(String.valueOf(info.get("targetId")));
+				}
+			}
+			return pages;
+		}
+
+		private void dispose(String contextId) {
+			try {
+				cdp.send("Target.disposeBrowserContext", Collections.singletonMap("browserContextId", contextId));
+			} catch (WebDriverException e) {
+				System.out.println(e.getMessage());
+			}
+		}
+
+		private void shutdown() {
+			cdp.close();
+			service.stop();
+			try {
+				host.quit();
+			} catch (Exception e) {
+				System.out.println(e.getMessage());
+			}
+		}
+	}
+
+	/**
+	 * A driver session attached to the shared browser and confined to one
+	 * browser context.
+	 */
+	private static final class ContextDriver extends RemoteWebDriver {
+		private static final Duration ATTACH_TIMEOUT = Duration.ofSeconds(5);
+
+		private final SharedBrowser browser;
+		private final String contextId;
+
+		private ContextDriver(SharedBrowser browser, ChromiumOptions<?> options, String contextId) {
+			super(browser.service.getUrl(), options);
+			this.browser = browser;
+			this.contextId = contextId;
+		}
+
+		/**
+		 * Switches to the context's first page, waiting for the driver to
+		 * discover it.
+		 */
+		private void switchToTarget(String targetId) {
+			long deadline = System.nanoTime() + ATTACH_TIMEOUT.toNanos();
+			while (true) {
+				try {
+					switchTo().window(targetId);
+					return;
+				} catch (NoSuchWindowException e) {
+					if (System.nanoTime() > deadline) {
+						throw e;
+					}
+					LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(20));
+				}
+			}
+		}
+
+		/**
+		 * Only the context's own windows, so window handling and the pool's reset
+		 * never touch other sessions' pages.
+		 */
+		@Override
+		public Set<String> getWindowHandles() {
+			Set<String> pages = browser.pagesOf(contextId);
+			Set<String> handles = new LinkedHashSet<>();
+			for (String handle : super.getWindowHandles()) {
+				if (pages.contains(handle)) {
+					handles.add(handle);
+				}
+			}
+			return handles;
+		}
+
+		/**
+		 * Detaches from the browser and disposes the context with its pages.
+		 */
+		@Override
+		public void quit() {
+			try {
+				super.quit();
+			} finally {
+				browser.dispose(contextId);
+			}
+		}
+	}
+}
@@ -0,0 +1,167 @@
+package com.qa.driver;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.openqa.selenium.PageLoadStrategy;
+
+import com.qa.config.Configuration;
+
+/**
+ * Named set of browser launch options.
+ *
+ * Two profiles are built in: "headless" (the default, tuned for CI agents) and
+ * "headed" (a regular maximised browser for local debugging). Any option of
+ * any profile can be set or overridden in the configuration as
+ * {@code profile.<name>.<option>}, and new profiles can be declared the same
+ * way. Options that a profile does not set fall back to the "headless" values.
+ */
+public final class BrowserProfile {
+
+	/**
+	 * Window size value that maximises the window instead of resizing it
+	 */
+	public static final String MAXIMIZED = "maximized";
+
+	private static final Map<String, Map<String, String>> BUILT_IN = new HashMap<>();
+
+	static {
+		Map<String, String> headless = new HashMap<>();
+		headless.put("headless", "true");
+		headless.put("windowSize", "1920x1080");
+		headless.put("disableImages", "true");
+		headless.put("disableFonts", "true");
+		headless.put("pageLoadStrategy", "eager");
+		headless.put("disableExtensions", "true");
+		headless.put("disableDevShmUsage", "true");
+		headless.put("arguments", "");
+		BUILT_IN.put("headless", headless);
+
+		Map<String, String> headed = new HashMap<>();
+		headed.put("headless", "false");
+		headed.put("windowSize", MAXIMIZED);
+		headed.put("disableImages", "false");
+		headed.put("disableFonts", "false");
+		headed.put("pageLoadStrategy", "normal");
+		BUILT_IN.put("headed", headed);
+	}
+
+	private final String name;
+	private final boolean headless;
+	private final String windowSize;
+	private final boolean disableImages;
+	private final boolean disableFonts;
+	private final PageLoadStrategy pageLoadStrategy;
+	private final boolean disableExtensions;
+	private final boolean disableDevShmUsage;
+	private final List<String> arguments;
+
+	private BrowserProfile(String name, Map<String, String> options) {
+		this.name = name;
+		this.headless = Boolean.parseBoolean(options.get("headless"));
+		this.windowSize = options.get("windowSize");
+		this.disableImages = Boolean.parseBoolean(options.get("disableImages"));
+		this.disableFonts = Boolean.parseBoolean(options.get("disableFonts"));
+		this.pageLoadStrategy = PageLoadStrategy.fromString(options.get("pageLoadStrategy"));
+		this.disableExtensions = Boolean.parseBoolean(options.get("disableExtensions"));
+		this.disableDevShmUsage = Boolean.parseBoolean(options.get("disableDevShmUsage"));
+
+		List<String> args = new ArrayList<>();
+		for (String arg : options.get("arguments").split(",")) {
+			if (!arg.trim().isEmpty()) {
+				args.add(arg.trim());
+			}
+		}
+		this.arguments = Collections.unmodifiableList(args);
+
+		if (pageLoadStrategy == null) {
+			throw new IllegalArgumentException(
+					"Invalid pageLoadStrategy for profile " + name + ": " + options.get("pageLoadStrategy"));
+		}
+		if (!windowSize.equals(MAXIMIZED) && !windowSize.matches("\\d+x\\d+")) {
+			throw new IllegalArgumentException("Invalid windowSize for profile " + name + ": " + windowSize);
+		}
+	}
+
+	/**
+	 * Resolves a profile by name from the built-in defaults and the configuration.
+	 *
+	 * @param name   Profile name, e.g. "headless"
+	 * @param config Configuration holding {@code profile.<name>.*} overrides
+	 * @return The resolved BrowserProfile
+	 * @throws IllegalArgumentException if the profile is unknown or invalid
+	 */
+	public static BrowserProfile named(String name, Configuration config) {
+		String key = name.toLowerCase();
+		Map<String, String> configured = config.withPrefix("profile." + key + ".");
+		if (!BUILT_IN.containsKey(key) && configured.isEmpty()) {
+			throw new IllegalArgumentException("Unknown browser profile: " + name);
+		}
+
+		Map<String, String> options = new HashMap<>(BUILT_IN.get("headless"));
+		options.putAll(BUILT_IN.getOrDefault(key, Collections.emptyMap()));
+		options.putAll(configured);
+		return new BrowserProfile(key, options);
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	public boolean isHeadless() {
+		return headless;
+	}
+
+	public boolean isMaximized() {
+		return windowSize.equals(MAXIMIZED);
+	}
+
+	/**
+	 * @return Window width in pixels; only meaningful when not maximised
+	 */
+	public int getWindowWidth() {
+		return isMaximized() ? 0 : Integer.parseInt(windowSize.split("x")[0]);
+	}
+
+	/**
+	 * @return Window height in pixels; only meaningful when not maximised
+	 */
+	public int getWindowHeight() {
+		return isMaximized() ? 0 : Integer.parseInt(windowSize.split("x")[1]);
+	}
+
+	public boolean isDisableImages() {
+		return disableImages;
+	}
+
+	public boolean isDisableFonts() {
+		return disableFonts;
+	}
+
+	public PageLoadStrategy getPageLoadStrategy() {
+		return pageLoadStrategy;
+	}
+
+	public boolean isDisableExtensions() {
+		return disableExtensions;
+	}
+
+	public boolean isDisableDevShmUsage() {
+		return disableDevShmUsage;
+	}
+
+	/**
+	 * @return Extra command line arguments passed to the browser as-is
+	 */
+	public List<String> getArguments() {
+		return arguments;
+	}
+
+	@Override
+	public String toString() {
+		return name;
+	}
+}
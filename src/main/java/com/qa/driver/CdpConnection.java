@@ -0,0 +1,158 @@
+package com.qa.driver;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.WebSocket;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.json.Json;
+
+/**
+ * Browser-level Chrome DevTools Protocol connection, for the Target commands
+ * that manage browser contexts. Page-level CDP access through the driver
+ * cannot create contexts, so this talks to the browser's own endpoint.
+ *
+ * Commands may be sent from any thread; events are ignored. Once the browser
+ * closes the connection, e.g. because it exited, waiting commands fail and new
+ * ones fail at once instead of waiting for the timeout.
+ */
+final class CdpConnection implements WebSocket.Listener {
+
+	private static final Json JSON = new Json();
+	private static final Duration TIMEOUT = Duration.ofSeconds(30);
+
+	private final AtomicLong ids = new AtomicLong();
+	private final Map<Long, CompletableFuture<Map<String, Object>>> pending = new ConcurrentHashMap<>();
+	private final StringBuilder frame = new StringBuilder();
+	private final WebSocket socket;
+
+	/**
+	 * Why the connection ended, or null while it is open
+	 */
+	private volatile Throwable closed;
+
+	/**
+	 * Connects to the browser listening on a DevTools address.
+	 *
+	 * @param debuggerAddress "host:port" reported by the driver
+	 */
+	CdpConnection(String debuggerAddress) {
+		HttpClient client = HttpClient.newBuilder().connectTimeout(TIMEOUT).build();
+		try {
+			HttpResponse<String> version = client.send(
+					HttpRequest.newBuilder(URI.create("http://" + debuggerAddress + "/json/version")).build(),
+					HttpResponse.BodyHandlers.ofString());
+			Map<String, Object> info = JSON.toType(version.body(), Json.MAP_TYPE);
+			this.socket = client.newWebSocketBuilder()
+					.buildAsync(URI.create(String.valueOf(info.get("webSocketDebuggerUrl"))), this)
+					.get(TIMEOUT.toMillis(), TimeUnit.MILLISECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new WebDriverException("Interrupted while connecting to " + debuggerAddress);
+		} catch (Exception e) {
+			throw new WebDriverException("No DevTools endpoint at " + debuggerAddress, e);
+		}
+	}
+
+	/**
+	 * Sends a command and waits for its result.
+	 *
+	 * @param method Command name, e.g. "Target.createBrowserContext"
+	 * @param params Command parameters
+	 * @return The command's result object
+	 * @throws WebDriverException if the browser reports an error, does not
+	 *                            answer in time or has closed the connection
+	 */
+	Map<String, Object> send(String method, Map<String, Object> params) {
+		long id = ids.incrementAndGet();
+		CompletableFuture<Map<String, Object>> reply = new CompletableFuture<>();
+		pending.put(id, reply);
+		// Checked after registering, so a close either sees the reply or is seen here
+		if (closed != null) {
+			pending.remove(id);
+			throw new WebDriverException(method + " not sent, the DevTools connection is closed", closed);
+		}
+		Map<String, Object> command = new HashMap<>();
+		command.put("id", id);
+		command.put("method", method);
+		command.put("params", params);
+		try {
+			synchronized (socket) {
+				socket.sendText(JSON.toJson(command), true).join();
+			}
+			Map<String, Object> message = reply.get(TIMEOUT.toMillis(), TimeUnit.MILLISECONDS);
+			if (message.containsKey("error")) {
+				throw new WebDriverException(method + " failed: " + message.get("error"));
+			}
+			@SuppressWarnings("unchecked")
+			Map<String, Object> result = (Map<String, Object>) message.get("result");
+			return result;
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new WebDriverException("Interrupted while waiting for " + method);
+		} catch (CompletionException e) {
+			throw new WebDriverException(method + " not sent, the DevTools connection is closed", e.getCause());
+		} catch (ExecutionException e) {
+			throw new WebDriverException(method + " got no reply, the DevTools connection is closed", e.getCause());
+		} catch (TimeoutException e) {
+			throw new WebDriverException(method + " got no reply", e);
+		} finally {
+			pending.remove(id);
+		}
+	}
+
+	/**
+	 * Closes the connection.
+	 */
+	void close() {
+		socket.sendClose(WebSocket.NORMAL_CLOSURE, "").exceptionally(e -> null);
+	}
+
+	@Override
+	public CompletionStage<?> onText(WebSocket webSocket, CharSequence data, boolean last) {
+		frame.append(data);
+		if (last) {
+			Map<String, Object> message = JSON.toType(frame.toString(), Json.MAP_TYPE);
+			frame.setLength(0);
+			Object id = message.get("id");
+			if (id instanceof Number) {
+				CompletableFuture<Map<String, Object>> reply = pending.get(((Number) id).longValue());
+				if (reply != null) {
+					reply.complete(message);
+				}
+			}
+		}
+		webSocket.request(1);
+		return null;
+	}
+
+	@Override
+	public CompletionStage<?> onClose(WebSocket webSocket, int statusCode, String reason) {
+		fail(new WebDriverException("DevTools connection closed with status " + statusCode
+				+ (reason.isEmpty() ? "" : ": " + reason)));
+		return null;
+	}
+
+	@Override
+	public void onError(WebSocket webSocket, Throwable error) {
+		fail(error);
+	}
+
+	private void fail(Throwable cause) {
+		closed = cause;
+		pending.values().forEach(reply -> reply.completeExceptionally(cause));
+	}
+}
@@ -0,0 +1,20 @@
+package com.qa.driver;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chrome.ChromeDriver;
+import org.openqa.selenium.chrome.ChromeOptions;
+
+import com.qa.config.Configuration;
+
+/**
+ * Launches Chrome sessions.
+ */
+public class ChromeDriverFactory implements DriverFactory {
+
+	@Override
+	public WebDriver create(BrowserProfile profile) {
+		ChromeOptions options = new ChromeOptions();
+		ChromiumArguments.apply(options, profile);
+		return DriverBinaryResolver.launch("chrome", Configuration.get(), () -> new ChromeDriver(options));
+	}
+}
@@ -0,0 +1,56 @@
+package com.qa.driver;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.openqa.selenium.chromium.ChromiumOptions;
+
+/**
+ * Applies a {@link BrowserProfile} to Chrome and Edge options, which share the
+ * same Chromium switches.
+ */
+final class ChromiumArguments {
+
+	private ChromiumArguments() {
+	}
+
+	/**
+	 * Adds the profile's switches and content preferences to the options.
+	 *
+	 * @param options Chrome or Edge options to configure
+	 * @param profile Profile to apply
+	 */
+	static void apply(ChromiumOptions<?> options, BrowserProfile profile) {
+		options.setPageLoadStrategy(profile.getPageLoadStrategy());
+
+		if (profile.isHeadless()) {
+			options.addArguments("--headless=new");
+		}
+		if (profile.isMaximized()) {
+			options.addArguments("--start-maximized");
+		} else {
+			options.addArguments("--window-size=" + profile.getWindowWidth() + "," + profile.getWindowHeight());
+		}
+		if (profile.isDisableExtensions()) {
+			options.addArguments("--disable-extensions");
+		}
+		if (profile.isDisableDevShmUsage()) {
+			// Write shared memory files to /tmp, /dev/shm is tiny in most containers
+			options.addArguments("--disable-dev-shm-usage");
+		}
+		if (profile.isDisableFonts()) {
+			options.addArguments("--disable-remote-fonts");
+		}
+
+		Map<String, Object> prefs = new HashMap<>();
+		if (profile.isDisableImages()) {
+			prefs.put("profile.managed_default_content_settings.images", 2);
+			options.addArguments("--blink-settings=imagesEnabled=false");
+		}
+		if (!prefs.isEmpty()) {
+			options.setExperimentalOption("prefs", prefs);
+		}
+
+		options.addArguments(profile.getArguments());
+	}
+}
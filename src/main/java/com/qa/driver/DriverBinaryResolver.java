@@ -0,0 +1,211 @@
+package com.qa.driver;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+
+import org.openqa.selenium.SessionNotCreatedException;
+import org.openqa.selenium.WebDriver;
+
+import com.qa.config.Configuration;
+
+import io.github.bonigarcia.wdm.WebDriverManager;
+
+/**
+ * Resolves browser driver binaries once per JVM and browser.
+ *
+ * Resolved paths are kept in a process-wide cache and persisted to an on-disk
+ * manifest, so later runs start without calling WebDriverManager at all. In
+ * offline mode only the manifest is consulted and nothing is downloaded.
+ *
+ * A recorded driver stops matching once the browser updates itself, so
+ * {@link #launch(String, Configuration, Supplier)} resolves the driver again
+ * and retries once when the driver rejects the browser's version.
+ */
+public final class DriverBinaryResolver {
+
+	/**
+	 * Driver binary paths already resolved in this JVM, keyed by browser
+	 */
+	private static final Map<String, Path> resolved = new ConcurrentHashMap<>();
+
+	/**
+	 * How chromedriver, msedgedriver and geckodriver report a browser version
+	 * they do not support
+	 */
+	private static final Pattern VERSION_MISMATCH = Pattern.compile(
+			"only supports .*version|current browser version|version .* not supported", Pattern.CASE_INSENSITIVE);
+
+	private DriverBinaryResolver() {
+	}
+
+	/**
+	 * Resolves the driver binary using the "driver.manifest" and "driver.offline"
+	 * settings. The manifest defaults to ~/.cache/selenium/drivers.properties.
+	 *
+	 * @param browser One of "chrome", "edge" or "firefox"
+	 * @param config  Configuration holding the resolver settings
+	 * @return Path of the driver binary
+	 * @throws IllegalStateException if the binary cannot be resolved
+	 */
+	public static Path resolve(String browser, Configuration config) {
+		return resolve(browser, manifest(config), config.getBoolean("driver.offline", false));
+	}
+
+	private static Path manifest(Configuration config) {
+		String defaultManifest = Paths.get(System.getProperty("user.home"), ".cache", "selenium", "drivers.properties")
+				.toString();
+		return Paths.get(config.getString("driver.manifest", defaultManifest));
+	}
+
+	/**
+	 * Resolves the driver binary and starts a session. If the driver does not
+	 * support the installed browser's version, the driver is downloaded again,
+	 * recorded in place of the old one and the session is started once more.
+	 *
+	 * @param browser  One of "chrome", "edge" or "firefox"
+	 * @param config   Configuration holding the resolver settings
+	 * @param launcher Starts the session once the binary is in place
+	 * @return The new session
+	 * @throws SessionNotCreatedException if the session cannot be started, also
+	 *                                    after a fresh download
+	 */
+	public static WebDriver launch(String browser, Configuration config, Supplier<WebDriver> launcher) {
+		Path binary = resolve(browser, config);
+		try {
+			return launcher.get();
+		} catch (SessionNotCreatedException e) {
+			if (e.getMessage() == null || !VERSION_MISMATCH.matcher(e.getMessage()).find()
+					|| config.getBoolean("driver.offline", false)) {
+				throw e;
+			}
+			System.out.println("The " + browser + " driver at " + binary
+					+ " does not support the installed browser, resolving it again");
+			refresh(browser, binary, manifest(config));
+			return launcher.get();
+		}
+	}
+
+	/**
+	 * Makes the driver binary for the given browser available to Selenium by
+	 * setting the matching {@code webdriver.*.driver} system property.
+	 *
+	 * @param browser  One of "chrome", "edge" or "firefox"
+	 * @param manifest Location of the persisted driver manifest
+	 * @param offline  true to resolve from the manifest only
+	 * @return Path of the driver binary
+	 * @throws IllegalStateException if the binary cannot be resolved
+	 */
+	public static Path resolve(String browser, Path manifest, boolean offline) {
+		String key = browser.toLowerCase();
+		return resolved.computeIfAbsent(key, k -> {
+			Path binary = fromManifest(k, manifest);
+			if (binary == null) {
+				if (offline) {
+					throw new IllegalStateException(
+							"Offline mode: no usable " + k + " driver recorded in " + manifest.toAbsolutePath());
+				}
+				binary = download(k);
+				record(k, binary, manifest);
+			}
+			System.setProperty(systemProperty(k), binary.toString());
+			return binary;
+		});
+	}
+
+	/**
+	 * Downloads the driver again and replaces the stale binary in the cache and
+	 * the manifest. Threads that hit the same stale binary download only once.
+	 */
+	private static Path refresh(String browser, Path stale, Path manifest) {
+		return resolved.compute(browser.toLowerCase(), (key, current) -> {
+			if (current != null && !current.equals(stale)) {
+				return current;
+			}
+			Path binary = download(key);
+			record(key, binary, manifest);
+			System.setProperty(systemProperty(key), binary.toString());
+			return binary;
+		});
+	}
+
+	/**
+	 * Looks up a previously resolved binary, ignoring entries whose file is gone.
+	 */
+	private static Path fromManifest(String browser, Path manifest) {
+		Properties entries = readManifest(manifest);
+		String location = entries.getProperty(browser);
+		if (location == null) {
+			return null;
+		}
+		Path binary = Paths.get(location);
+		return Files.isExecutable(binary) ? binary : null;
+	}
+
+	/**
+	 * Runs WebDriverManager for the browser and returns the downloaded binary.
+	 */
+	private static Path download(String browser) {
+		WebDriverManager manager;
+		if (browser.equals("edge")) {
+			manager = WebDriverManager.edgedriver();
+		} else if (browser.equals("firefox")) {
+			manager = WebDriverManager.firefoxdriver();
+		} else {
+			manager = WebDriverManager.chromedriver();
+		}
+		manager.setup();
+		return Paths.get(manager.getDownloadedDriverPath());
+	}
+
+	/**
+	 * Adds the binary to the manifest. Writes go through a temporary file so
+	 * concurrent readers never see a partial manifest.
+	 */
+	private static synchronized void record(String browser, Path binary, Path manifest) {
+		Properties entries = readManifest(manifest);
+		entries.setProperty(browser, binary.toAbsolutePath().toString());
+		try {
+			Path parent = manifest.toAbsolutePath().getParent();
+			Files.createDirectories(parent);
+			Path temp = Files.createTempFile(parent, "drivers", ".tmp");
+			try (OutputStream out = Files.newOutputStream(temp)) {
+				entries.store(out, "Resolved WebDriver binaries");
+			}
+			Files.move(temp, manifest, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		} catch (IOException e) {
+			// The binary is still usable for this run, it just won't be remembered
+			System.out.println(e.getMessage());
+		}
+	}
+
+	private static Properties readManifest(Path manifest) {
+		Properties entries = new Properties();
+		if (Files.isRegularFile(manifest)) {
+			try (InputStream in = Files.newInputStream(manifest)) {
+				entries.load(in);
+			} catch (IOException e) {
+				System.out.println(e.getMessage());
+			}
+		}
+		return entries;
+	}
+
+	private static String systemProperty(String browser) {
+		if (browser.equals("edge")) {
+			return "webdriver.edge.driver";
+		} else if (browser.equals("firefox")) {
+			return "webdriver.gecko.driver";
+		}
+		return "webdriver.chrome.driver";
+	}
+}
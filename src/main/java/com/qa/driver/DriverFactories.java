@@ -0,0 +1,47 @@
+package com.qa.driver;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.qa.standin.StandInDriverFactory;
+
+/**
+ * Registry of {@link DriverFactory} implementations keyed by browser name.
+ */
+public final class DriverFactories {
+
+	private static final Map<String, DriverFactory> factories = new ConcurrentHashMap<>();
+
+	static {
+		register("chrome", new ChromeDriverFactory());
+		register("edge", new EdgeDriverFactory());
+		register("firefox", new FirefoxDriverFactory());
+		register("chrome-contexts", new BrowserContextFactory("chrome"));
+		register("edge-contexts", new BrowserContextFactory("edge"));
+		register("fake", new StandInDriverFactory());
+	}
+
+	private DriverFactories() {
+	}
+
+	/**
+	 * Registers or replaces the factory for a browser name.
+	 *
+	 * @param browser Browser name as used in the "browserName" parameter
+	 * @param factory Factory creating sessions for that browser
+	 */
+	public static void register(String browser, DriverFactory factory) {
+		factories.put(browser.toLowerCase(), factory);
+	}
+
+	/**
+	 * Gets the factory for a browser name. Unknown names fall back to Chrome.
+	 *
+	 * @param browser Browser name as used in the "browserName" parameter
+	 * @return The matching DriverFactory
+	 */
+	public static DriverFactory forBrowser(String browser) {
+		DriverFactory factory = factories.get(browser.toLowerCase());
+		return factory != null ? factory : factories.get("chrome");
+	}
+}
@@ -0,0 +1,21 @@
+package com.qa.driver;
+
+import org.openqa.selenium.WebDriver;
+
+/**
+ * Creates browser sessions for one browser type.
+ *
+ * Implementations translate a {@link BrowserProfile} into browser specific
+ * options. New browsers can be plugged in through
+ * {@link DriverFactories#register(String, DriverFactory)}.
+ */
+public interface DriverFactory {
+
+	/**
+	 * Launches a new browser session configured from the given profile.
+	 *
+	 * @param profile Launch options to apply
+	 * @return A new WebDriver instance
+	 */
+	WebDriver create(BrowserProfile profile);
+}
@@ -0,0 +1,302 @@
+package com.qa.driver;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+
+/**
+ * Bounded pool of reusable WebDriver sessions, keyed by browser type.
+ *
+ * Tests lease a session instead of launching a new browser and hand it back
+ * once they are done. Returned sessions are reset (cookies, storage, extra
+ * windows, navigation back to the base URL) before they become available
+ * again. Sessions that fail the health check, fail to reset, or have reached
+ * the maximum reuse count are quit and evicted.
+ */
+public class DriverPool {
+
+	/**
+	 * A pooled browser session together with its bookkeeping.
+	 */
+	private static final class PooledSession {
+		private final String key;
+		private final WebDriver driver;
+		private int uses;
+
+		private PooledSession(String key, WebDriver driver) {
+			this.key = key;
+			this.driver = driver;
+		}
+	}
+
+	/**
+	 * Idle sessions and the number of live sessions for a single browser type.
+	 * Both are guarded by one lock, so a waiting lease wakes up when either a
+	 * session is returned or capacity frees up.
+	 */
+	private static final class Partition {
+		private final ReentrantLock lock = new ReentrantLock(true);
+		private final Condition changed = lock.newCondition();
+		private final Deque<PooledSession> idle = new ArrayDeque<>();
+		private int live;
+
+		/**
+		 * @return The most recently used idle session, or null
+		 */
+		private PooledSession pollIdle() {
+			lock.lock();
+			try {
+				return idle.pollFirst();
+			} finally {
+				lock.unlock();
+			}
+		}
+
+		/**
+		 * @return The least recently used idle session if more than maxIdle are
+		 *         idle, or null
+		 */
+		private PooledSession pollExcess(int maxIdle) {
+			lock.lock();
+			try {
+				return idle.size() > maxIdle ? idle.pollLast() : null;
+			} finally {
+				lock.unlock();
+			}
+		}
+
+		private void offerIdle(PooledSession session) {
+			lock.lock();
+			try {
+				idle.offerFirst(session);
+				changed.signal();
+			} finally {
+				lock.unlock();
+			}
+		}
+
+		/**
+		 * Gives back the slot of a session that was quit or never created.
+		 */
+		private void free() {
+			lock.lock();
+			try {
+				live--;
+				changed.signal();
+			} finally {
+				lock.unlock();
+			}
+		}
+	}
+
+	private final int maxSize;
+	private final int maxReuse;
+	private final Duration leaseTimeout;
+
+	private final Map<String, Partition> partitions = new ConcurrentHashMap<>();
+	private final Map<WebDriver, PooledSession> leased = new ConcurrentHashMap<>();
+
+	/**
+	 * Creates a pool and registers a shutdown hook that quits all sessions when
+	 * the JVM exits.
+	 *
+	 * @param maxSize      Maximum number of live sessions per browser type
+	 * @param maxReuse     Number of leases after which a session is evicted
+	 * @param leaseTimeout Maximum time to wait for a free session
+	 */
+	public DriverPool(int maxSize, int maxReuse, Duration leaseTimeout) {
+		if (maxSize < 1 || maxReuse < 1) {
+			throw new IllegalArgumentException("Pool size and reuse count must be at least 1");
+		}
+		this.maxSize = maxSize;
+		this.maxReuse = maxReuse;
+		this.leaseTimeout = leaseTimeout;
+		Runtime.getRuntime().addShutdownHook(new Thread(this::shutdown, "driver-pool-shutdown"));
+	}
+
+	/**
+	 * Leases a healthy session for the given browser type, creating a new one if
+	 * the pool has spare capacity and no idle session is available.
+	 *
+	 * @param browserKey Browser type the session is pooled under
+	 * @param factory    Creates a new browser session when one is needed
+	 * @return A WebDriver session owned by the caller until it is released
+	 * @throws IllegalStateException if no session becomes available in time
+	 */
+	public WebDriver lease(String browserKey, Supplier<WebDriver> factory) {
+		String key = browserKey.toLowerCase();
+		Partition partition = partitions.computeIfAbsent(key, k -> new Partition());
+		long deadline = System.nanoTime() + leaseTimeout.toNanos();
+
+		while (true) {
+			// Wait until an idle session is available or a new one may be opened
+			PooledSession session;
+			partition.lock.lock();
+			try {
+				while ((session = partition.idle.pollFirst()) == null && partition.live >= maxSize) {
+					long remaining = deadline - System.nanoTime();
+					if (remaining <= 0) {
+						throw new IllegalStateException(
+								"No " + key + " session became available within " + leaseTimeout.toSeconds() + "s");
+					}
+					partition.changed.awaitNanos(remaining);
+				}
+				if (session == null) {
+					partition.live++;
+				}
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new IllegalStateException(e.getMessage());
+			} finally {
+				partition.lock.unlock();
+			}
+
+			if (session == null) {
+				try {
+					return checkOut(new PooledSession(key, factory.get()));
+				} catch (RuntimeException e) {
+					partition.free();
+					throw e;
+				}
+			}
+			// Reuse the idle session, or evict it and wait again if it is broken
+			if (isHealthy(session.driver)) {
+				return checkOut(session);
+			}
+			evict(session);
+		}
+	}
+
+	/**
+	 * Returns a leased session to the pool. The session is reset before it is
+	 * offered to the next test, or evicted if it cannot be reused.
+	 *
+	 * @param driver  The session previously obtained from {@link #lease}
+	 * @param baseUrl URL the session navigates back to during the reset
+	 */
+	public void release(WebDriver driver, String baseUrl) {
+		PooledSession session = leased.remove(driver);
+		if (session == null) {
+			// Not a pooled session, nothing to hand back
+			driver.quit();
+			return;
+		}
+
+		if (session.uses >= maxReuse || !reset(session.driver, baseUrl)) {
+			evict(session);
+			return;
+		}
+		partitions.get(session.key).offerIdle(session);
+	}
+
+	/**
+	 * Quits and discards a leased session, e.g. when its state can no longer be
+	 * trusted.
+	 *
+	 * @param driver The session previously obtained from {@link #lease}
+	 */
+	public void invalidate(WebDriver driver) {
+		PooledSession session = leased.remove(driver);
+		if (session != null) {
+			evict(session);
+		} else {
+			driver.quit();
+		}
+	}
+
+	/**
+	 * Quits the least recently used idle sessions of each browser type until at
+	 * most the given number remain, e.g. when fewer tests may run at once.
+	 *
+	 * @param maxIdle Number of idle sessions to keep per browser type
+	 */
+	public void trimIdle(int maxIdle) {
+		for (Partition partition : partitions.values()) {
+			PooledSession session;
+			while ((session = partition.pollExcess(maxIdle)) != null) {
+				evict(session);
+			}
+		}
+	}
+
+	/**
+	 * Quits every idle and leased session held by the pool.
+	 */
+	public void shutdown() {
+		for (Partition partition : partitions.values()) {
+			PooledSession session;
+			while ((session = partition.pollIdle()) != null) {
+				evict(session);
+			}
+		}
+		Set<WebDriver> drivers = leased.keySet();
+		for (WebDriver driver : drivers) {
+			invalidate(driver);
+		}
+	}
+
+	private WebDriver checkOut(PooledSession session) {
+		session.uses++;
+		leased.put(session.driver, session);
+		return session.driver;
+	}
+
+	private void evict(PooledSession session) {
+		try {
+			session.driver.quit();
+		} catch (Exception e) {
+			System.out.println(e.getMessage());
+		} finally {
+			partitions.get(session.key).free();
+		}
+	}
+
+	/**
+	 * Checks that the browser behind the session still responds.
+	 */
+	private boolean isHealthy(WebDriver driver) {
+		try {
+			return driver.getWindowHandle() != null;
+		} catch (Exception e) {
+			return false;
+		}
+	}
+
+	/**
+	 * Clears cookies and web storage, closes extra windows and navigates back to
+	 * the base URL.
+	 *
+	 * @return true if the session is clean and can be reused
+	 */
+	private boolean reset(WebDriver driver, String baseUrl) {
+		try {
+			Set<String> handles = driver.getWindowHandles();
+			String first = handles.iterator().next();
+			for (String handle : handles) {
+				if (!handle.equals(first)) {
+					driver.switchTo().window(handle).close();
+				}
+			}
+			driver.switchTo().window(first);
+
+			driver.manage().deleteAllCookies();
+			if (driver instanceof JavascriptExecutor) {
+				((JavascriptExecutor) driver).executeScript(
+						"try { window.localStorage.clear(); window.sessionStorage.clear(); } catch (e) {}");
+			}
+			driver.get(baseUrl);
+			return true;
+		} catch (Exception e) {
+			return false;
+		}
+	}
+}
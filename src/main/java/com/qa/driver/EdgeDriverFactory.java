@@ -0,0 +1,20 @@
+package com.qa.driver;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.edge.EdgeDriver;
+import org.openqa.selenium.edge.EdgeOptions;
+
+import com.qa.config.Configuration;
+
+/**
+ * Launches Edge sessions.
+ */
+public class EdgeDriverFactory implements DriverFactory {
+
+	@Override
+	public WebDriver create(BrowserProfile profile) {
+		EdgeOptions options = new EdgeOptions();
+		ChromiumArguments.apply(options, profile);
+		return DriverBinaryResolver.launch("edge", Configuration.get(), () -> new EdgeDriver(options));
+	}
+}
@@ -0,0 +1,41 @@
+package com.qa.driver;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.firefox.FirefoxDriver;
+import org.openqa.selenium.firefox.FirefoxOptions;
+
+import com.qa.config.Configuration;
+
+/**
+ * Launches Firefox sessions. Firefox has no /dev/shm or extension switches, so
+ * those profile options are ignored.
+ */
+public class FirefoxDriverFactory implements DriverFactory {
+
+	@Override
+	public WebDriver create(BrowserProfile profile) {
+		FirefoxOptions options = new FirefoxOptions();
+		options.setPageLoadStrategy(profile.getPageLoadStrategy());
+
+		if (profile.isHeadless()) {
+			options.addArguments("-headless");
+		}
+		if (!profile.isMaximized()) {
+			options.addArguments("--width=" + profile.getWindowWidth(), "--height=" + profile.getWindowHeight());
+		}
+		if (profile.isDisableImages()) {
+			options.addPreference("permissions.default.image", 2);
+		}
+		if (profile.isDisableFonts()) {
+			options.addPreference("browser.display.use_document_fonts", 0);
+		}
+		options.addArguments(profile.getArguments());
+
+		WebDriver driver = DriverBinaryResolver.launch("firefox", Configuration.get(),
+				() -> new FirefoxDriver(options));
+		if (profile.isMaximized()) {
+			driver.manage().window().maximize();
+		}
+		return driver;
+	}
+}
@@ -0,0 +1,158 @@
+package com.qa.events;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import org.openqa.selenium.json.Json;
+
+import com.qa.artifacts.ArtifactContext;
+import com.qa.config.Configuration;
+
+/**
+ * Append-only NDJSON log of {@link TestEvent}s.
+ *
+ * Publishing only claims a slot in a lock-free ring buffer, so it costs a few
+ * microseconds and never contends on a lock or on System.out. A background
+ * thread drains the buffer in batches, serialises the events and appends them to
+ * {@code events.ndjson} in the run directory (or the "events.file" setting).
+ * {@link #replay(Path)} reads a log back for reporting.
+ */
+public final class EventLog {
+
+	private static final class Holder {
+		private static final EventLog INSTANCE = new EventLog(Configuration.get());
+	}
+
+	private static final Json JSON = new Json();
+
+	private final EventRingBuffer<TestEvent> buffer;
+	private final Path file;
+	private final Thread writer;
+	private final AtomicLong published = new AtomicLong();
+	private volatile long written;
+
+	private EventLog(Configuration config) {
+		this.buffer = new EventRingBuffer<>(config.getInt("events.bufferSize", 8192));
+		this.file = Paths.get(config.getString("events.file",
+				ArtifactContext.runDirectory().resolve("events.ndjson").toString()));
+		this.writer = new Thread(this::drain, "event-log-writer");
+		writer.setDaemon(true);
+		writer.start();
+		Runtime.getRuntime().addShutdownHook(new Thread(() -> flush(Duration.ofSeconds(10)), "event-log-flush"));
+	}
+
+	/**
+	 * @return The shared event log, started on first use
+	 */
+	public static EventLog get() {
+		return Holder.INSTANCE;
+	}
+
+	/**
+	 * @return Location of the log file
+	 */
+	public Path getFile() {
+		return file;
+	}
+
+	/**
+	 * Publishes an event. When the buffer is full the caller spins until the
+	 * writer frees a slot, so events are never dropped.
+	 *
+	 * @param event The event to log
+	 */
+	public void publish(TestEvent event) {
+		published.incrementAndGet();
+		while (!buffer.offer(event)) {
+			LockSupport.unpark(writer);
+			Thread.onSpinWait();
+		}
+	}
+
+	/**
+	 * Waits until every event published so far has been written to disk.
+	 *
+	 * @param timeout Maximum time to wait
+	 * @return true if the log caught up in time
+	 */
+	public boolean flush(Duration timeout) {
+		long target = published.get();
+		long deadline = System.nanoTime() + timeout.toNanos();
+		while (written < target) {
+			if (System.nanoTime() > deadline) {
+				return false;
+			}
+			LockSupport.unpark(writer);
+			LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(1));
+		}
+		return true;
+	}
+
+	/**
+	 * Reads all events from a log file.
+	 *
+	 * @param file The NDJSON log to read
+	 * @return The events in the order they were written
+	 * @throws IOException if the file cannot be read
+	 */
+	public static List<TestEvent> replay(Path file) throws IOException {
+		List<TestEvent> events = new ArrayList<>();
+		for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+			if (!line.isEmpty()) {
+				events.add(TestEvent.fromMap(JSON.toType(line, Json.MAP_TYPE)));
+			}
+		}
+		return events;
+	}
+
+	private void drain() {
+		Writer out = null;
+		while (true) {
+			int count = 0;
+			TestEvent event;
+			while (count < 512 && (event = buffer.poll()) != null) {
+				count++;
+				try {
+					if (out == null) {
+						Files.createDirectories(file.toAbsolutePath().getParent());
+						out = new BufferedWriter(Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+								StandardOpenOption.CREATE, StandardOpenOption.APPEND), 64 * 1024);
+					}
+					StringBuilder line = new StringBuilder(256);
+					event.appendJson(line);
+					out.write(line.append('\n').toString());
+				} catch (IOException | RuntimeException e) {
+					System.out.println("Event not logged: " + e.getMessage());
+				}
+			}
+
+			if (count == 0) {
+				// Idle, back off briefly
+				LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(5));
+				continue;
+			}
+
+			// Events only count as written once the batch is flushed
+			try {
+				if (out != null) {
+					out.flush();
+				}
+			} catch (IOException e) {
+				System.out.println(e.getMessage());
+			}
+			written += count;
+		}
+	}
+}
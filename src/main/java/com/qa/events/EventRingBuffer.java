@@ -0,0 +1,77 @@
+package com.qa.events;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bounded, lock-free multi-producer/single-consumer ring buffer.
+ *
+ * Producers claim a slot with a single CAS on the tail counter and publish it
+ * by advancing the slot's sequence number; the consumer reads slots in order
+ * once their sequence shows them as published. No locks are taken on either
+ * side.
+ *
+ * @param <T> Type of the buffered items
+ */
+final class EventRingBuffer<T> {
+
+	private final Object[] slots;
+	private final AtomicLongArray sequences;
+	private final int mask;
+	private final AtomicLong tail = new AtomicLong();
+	private long head;
+
+	/**
+	 * @param capacity Number of slots, rounded up to a power of two
+	 */
+	EventRingBuffer(int capacity) {
+		int size = Integer.highestOneBit(Math.max(2, capacity - 1)) << 1;
+		this.slots = new Object[size];
+		this.sequences = new AtomicLongArray(size);
+		this.mask = size - 1;
+		for (int i = 0; i < size; i++) {
+			sequences.set(i, i);
+		}
+	}
+
+	/**
+	 * Publishes an item. Safe to call from any number of threads.
+	 *
+	 * @param item The item to publish
+	 * @return false if the buffer is full
+	 */
+	boolean offer(T item) {
+		while (true) {
+			long position = tail.get();
+			int index = (int) position & mask;
+			long available = sequences.get(index) - position;
+			if (available == 0) {
+				if (tail.compareAndSet(position, position + 1)) {
+					slots[index] = item;
+					sequences.set(index, position + 1);
+					return true;
+				}
+			} else if (available < 0) {
+				return false;
+			}
+		}
+	}
+
+	/**
+	 * Takes the next published item. Must only be called by the single consumer.
+	 *
+	 * @return The next item, or null if none is published yet
+	 */
+	@SuppressWarnings("unchecked")
+	T poll() {
+		int index = (int) head & mask;
+		if (sequences.get(index) != head + 1) {
+			return null;
+		}
+		T item = (T) slots[index];
+		slots[index] = null;
+		sequences.set(index, head + slots.length);
+		head++;
+		return item;
+	}
+}
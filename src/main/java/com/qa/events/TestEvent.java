@@ -0,0 +1,150 @@
+package com.qa.events;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A single entry of the structured event log.
+ */
+public final class TestEvent {
+
+	/**
+	 * Kinds of events written by the listener.
+	 */
+	public enum Type {
+		CONTEXT_START, CONTEXT_FINISH, TEST_START, TEST_SUCCESS, TEST_FAILURE, TEST_SKIPPED, TEST_TIMEOUT
+	}
+
+	private final Type type;
+	private final long timestamp;
+	private final String context;
+	private final String testClass;
+	private final String method;
+	private final String thread;
+	private final String browser;
+	private final long durationMillis;
+	private final String failure;
+
+	/**
+	 * @param type           Kind of event
+	 * @param timestamp      Epoch milliseconds at which the event happened
+	 * @param context        Name of the TestNG &lt;test&gt;
+	 * @param testClass      Test class name, null for context events
+	 * @param method         Test method name, null for context events
+	 * @param thread         Name of the thread that raised the event
+	 * @param browser        Browser parameter of the test, if any
+	 * @param durationMillis Test duration for end events, otherwise 0
+	 * @param failure        Failure cause for failed tests, otherwise null
+	 */
+	public TestEvent(Type type, long timestamp, String context, String testClass, String method, String thread,
+			String browser, long durationMillis, String failure) {
+		this.type = type;
+		this.timestamp = timestamp;
+		this.context = context;
+		this.testClass = testClass;
+		this.method = method;
+		this.thread = thread;
+		this.browser = browser;
+		this.durationMillis = durationMillis;
+		this.failure = failure;
+	}
+
+	public Type getType() {
+		return type;
+	}
+
+	public long getTimestamp() {
+		return timestamp;
+	}
+
+	public String getContext() {
+		return context;
+	}
+
+	public String getTestClass() {
+		return testClass;
+	}
+
+	public String getMethod() {
+		return method;
+	}
+
+	public String getThread() {
+		return thread;
+	}
+
+	public String getBrowser() {
+		return browser;
+	}
+
+	public long getDurationMillis() {
+		return durationMillis;
+	}
+
+	public String getFailure() {
+		return failure;
+	}
+
+	/**
+	 * @return The event as an ordered map, as written to the log
+	 */
+	Map<String, Object> toMap() {
+		Map<String, Object> map = new LinkedHashMap<>();
+		map.put("type", type.name());
+		map.put("timestamp", timestamp);
+		map.put("context", context);
+		map.put("class", testClass);
+		map.put("method", method);
+		map.put("thread", thread);
+		map.put("browser", browser);
+		map.put("durationMillis", durationMillis);
+		map.put("failure", failure);
+		return map;
+	}
+
+	/**
+	 * Appends the event as a single-line JSON object.
+	 *
+	 * @param out Buffer to append to
+	 */
+	void appendJson(StringBuilder out) {
+		out.append('{');
+		String separator = "";
+		for (Map.Entry<String, Object> field : toMap().entrySet()) {
+			out.append(separator).append('"').append(field.getKey()).append("\":");
+			Object value = field.getValue();
+			if (value == null || value instanceof Number) {
+				out.append(value);
+			} else {
+				appendString(out, value.toString());
+			}
+			separator = ",";
+		}
+		out.append('}');
+	}
+
+	private static void appendString(StringBuilder out, String value) {
+		out.append('"');
+		for (int i = 0; i < value.length(); i++) {
+			char c = value.charAt(i);
+			if (c == '"' || c == '\\') {
+				out.append('\\').append(c);
+			} else if (c < 0x20) {
+				out.append(String.format("\\u%04x", (int) c));
+			} else {
+				out.append(c);
+			}
+		}
+		out.append('"');
+	}
+
+	/**
+	 * Rebuilds an event from a map read back from the log.
+	 */
+	static TestEvent fromMap(Map<String, Object> map) {
+		return new TestEvent(Type.valueOf((String) map.get("type")), ((Number) map.get("timestamp")).longValue(),
+				(String) map.get("context"), (String) map.get("class"), (String) map.get("method"),
+				(String) map.get("thread"), (String) map.get("browser"),
+				((Number) map.get("durationMillis")).longValue(), (String) map.get("failure"));
+	}
+}
@@ -0,0 +1,154 @@
+package com.qa.fixtures;
+
+import java.io.IOException;
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import com.qa.config.Configuration;
+import com.qa.data.UserRecord;
+import com.qa.standin.StandInSite;
+
+/**
+ * Provisions customer accounts without a browser, by posting the store's own
+ * registration, login and newsletter forms.
+ *
+ * Every account gets its own cookie session; hidden fields and token-bearing
+ * form actions are taken from the pages, so the store's CSRF checks pass.
+ * Tests then spend browser time only on the behaviour under test, and suites
+ * can create their accounts up front with {@link #registerAll(List, boolean)},
+ * which runs "fixtures.parallelism" registrations at a time (8 by default).
+ */
+public final class AccountFixtures {
+
+	private final FormSession.Transport transport;
+	private final URI baseUrl;
+	private final int parallelism;
+
+	private AccountFixtures(FormSession.Transport transport, URI baseUrl, int parallelism) {
+		this.transport = transport;
+		this.baseUrl = baseUrl;
+		this.parallelism = parallelism;
+	}
+
+	/**
+	 * Creates fixtures that talk HTTP to a store, waiting at most
+	 * "fixtures.timeout" (30 seconds by default) per request.
+	 *
+	 * @param baseUrl Root URL of the store
+	 * @param config  Configuration holding the fixture settings
+	 * @return Fixtures for that store
+	 */
+	public static AccountFixtures overHttp(URI baseUrl, Configuration config) {
+		return new AccountFixtures(FormSession.http(config.getDuration("fixtures.timeout", Duration.ofSeconds(30))),
+				baseUrl, config.getInt("fixtures.parallelism", 8));
+	}
+
+	/**
+	 * Creates fixtures that hand their requests straight to an in-process
+	 * stand-in site, for runs on the fake browser.
+	 *
+	 * @param site    The stand-in site
+	 * @param baseUrl Root URL the stand-in drivers use
+	 * @param config  Configuration holding the fixture settings
+	 * @return Fixtures for that site
+	 */
+	public static AccountFixtures standIn(StandInSite site, URI baseUrl, Configuration config) {
+		return new AccountFixtures(FormSession.standIn(site), baseUrl, config.getInt("fixtures.parallelism", 8));
+	}
+
+	/**
+	 * Registers an account.
+	 *
+	 * @param user       Details of the account
+	 * @param newsletter Whether the account subscribes to the newsletter
+	 * @return The user, now able to log in
+	 * @throws IllegalStateException if the store does not create the account
+	 */
+	public UserRecord register(UserRecord user, boolean newsletter) {
+		try {
+			FormSession session = new FormSession(transport, baseUrl);
+			Map<String, String> values = new LinkedHashMap<>();
+			values.put("firstname", user.getFirstName());
+			values.put("lastname", user.getLastName());
+			values.put("email", user.getEmail());
+			values.put("password", user.getPassword());
+			values.put("agree", "1");
+			values.put("newsletter", newsletter ? "1" : null);
+			session.submit(session.open("account/register"), "email", values);
+			requireSignedIn(session, user, "registered");
+			return user;
+		} catch (IOException e) {
+			throw new IllegalStateException("Account " + user.getEmail() + " not registered: " + e, e);
+		}
+	}
+
+	/**
+	 * Registers accounts concurrently.
+	 *
+	 * @param users      Details of the accounts
+	 * @param newsletter Whether the accounts subscribe to the newsletter
+	 * @return The users, in the given order
+	 * @throws IllegalStateException if any account is not created
+	 */
+	public List<UserRecord> registerAll(List<UserRecord> users, boolean newsletter) {
+		ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, Math.min(parallelism, users.size())));
+		try {
+			List<CompletableFuture<UserRecord>> registrations = new ArrayList<>();
+			for (UserRecord user : users) {
+				registrations.add(CompletableFuture.supplyAsync(() -> register(user, newsletter), executor));
+			}
+			List<UserRecord> registered = new ArrayList<>();
+			for (CompletableFuture<UserRecord> registration : registrations) {
+				registered.add(registration.join());
+			}
+			return registered;
+		} catch (CompletionException e) {
+			throw e.getCause() instanceof IllegalStateException ? (IllegalStateException) e.getCause() : e;
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	/**
+	 * Logs an existing account in and sets its newsletter subscription.
+	 *
+	 * @param user       The account
+	 * @param subscribed Whether the account should be subscribed
+	 * @throws IllegalStateException if the login fails or the setting does not
+	 *                               stick
+	 */
+	public void setNewsletter(UserRecord user, boolean subscribed) {
+		try {
+			FormSession session = new FormSession(transport, baseUrl);
+			Map<String, String> credentials = new LinkedHashMap<>();
+			credentials.put("email", user.getEmail());
+			credentials.put("password", user.getPassword());
+			session.submit(session.open("account/login"), "password", credentials);
+			requireSignedIn(session, user, "logged in");
+
+			session.submit(session.open("account/newsletter"), "newsletter",
+					Collections.singletonMap("newsletter", subscribed ? "1" : "0"));
+			if (session.isChecked(session.open("account/newsletter"), "newsletter") != subscribed) {
+				throw new IllegalStateException("Newsletter of " + user.getEmail() + " not changed");
+			}
+		} catch (IOException e) {
+			throw new IllegalStateException("Newsletter of " + user.getEmail() + " not changed: " + e, e);
+		}
+	}
+
+	private static void requireSignedIn(FormSession session, UserRecord user, String action) throws IOException {
+		String route = session.open("account/account").route();
+		if (!route.equals("account/account")) {
+			throw new IllegalStateException("Account " + user.getEmail() + " not " + action + ", landed on " + route);
+		}
+	}
+}
@@ -0,0 +1,301 @@
+package com.qa.fixtures;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.openqa.selenium.json.Json;
+import org.openqa.selenium.json.JsonException;
+
+import com.qa.standin.StandInSite;
+
+/**
+ * A browserless visitor of the store: keeps the session cookies, submits
+ * forms together with their hidden fields and token-bearing action URLs, and
+ * follows both HTTP redirects and the store's JSON redirect replies.
+ *
+ * Not thread-safe; every provisioned account uses its own session.
+ */
+final class FormSession {
+
+	/**
+	 * Sends single requests without following redirects.
+	 */
+	interface Transport {
+		Reply send(String method, URI uri, Map<String, String> form, Map<String, String> cookies) throws IOException;
+	}
+
+	/**
+	 * A raw response.
+	 */
+	static final class Reply {
+		private final int status;
+		private final String location;
+		private final Map<String, String> cookies;
+		private final String body;
+
+		Reply(int status, String location, Map<String, String> cookies, String body) {
+			this.status = status;
+			this.location = location;
+			this.cookies = cookies;
+			this.body = body;
+		}
+	}
+
+	/**
+	 * A page reached after following all redirects.
+	 */
+	static final class Page {
+		final URI url;
+		final String body;
+
+		private Page(URI url, String body) {
+			this.url = url;
+			this.body = body;
+		}
+
+		/**
+		 * @return The page's "route" parameter, e.g. "account/account"
+		 */
+		String route() {
+			String query = url.getRawQuery();
+			return query == null ? "common/home"
+					: StandInSite.parseQuery(query).getOrDefault("route", "common/home");
+		}
+	}
+
+	private static final int MAX_REDIRECTS = 10;
+	private static final Json JSON = new Json();
+	private static final Pattern FORM = Pattern.compile("<form\\b([^>]*)>(.*?)</form>",
+			Pattern.DOTALL | Pattern.CASE_INSENSITIVE);
+	private static final Pattern INPUT = Pattern.compile("<input\\b([^>]*)>", Pattern.CASE_INSENSITIVE);
+	// Quoted, unquoted and valueless attributes, e.g. checked in <input type="checkbox" checked>
+	private static final Pattern ATTRIBUTE = Pattern
+			.compile("([\\w:-]+)(?:\\s*=\\s*(?:\"([^\"]*)\"|'([^']*)'|([^\\s\"'=<>`]+)))?");
+	private static final Pattern CUSTOMER_TOKEN = Pattern.compile("customer_token=([A-Za-z0-9]+)");
+
+	private final Transport transport;
+	private final URI baseUrl;
+	private final Map<String, String> cookies = new LinkedHashMap<>();
+	private String customerToken;
+
+	FormSession(Transport transport, URI baseUrl) {
+		this.transport = transport;
+		this.baseUrl = baseUrl;
+	}
+
+	/**
+	 * Opens a page by route, adding the customer token once the store issued
+	 * one.
+	 *
+	 * @param route Route such as "account/register"
+	 * @return The page reached
+	 */
+	Page open(String route) throws IOException {
+		String target = "index.php?route=" + route + "&language=en-gb";
+		if (customerToken != null && route.startsWith("account/")) {
+			target += "&customer_token=" + customerToken;
+		}
+		return exchange("GET", baseUrl.resolve(target), Collections.emptyMap());
+	}
+
+	/**
+	 * Submits the form of a page that contains the given field, including its
+	 * hidden fields.
+	 *
+	 * @param page   Page holding the form
+	 * @param field  Name of a field identifying the form
+	 * @param values Visible field values; null values remove a field
+	 * @return The page reached
+	 * @throws IllegalStateException if the page has no such form or the store
+	 *                               answers with an error
+	 */
+	Page submit(Page page, String field, Map<String, String> values) throws IOException {
+		Matcher form = FORM.matcher(page.body);
+		while (form.find()) {
+			if (!form.group(2).contains("name=\"" + field + "\"")) {
+				continue;
+			}
+			Map<String, String> fields = new LinkedHashMap<>();
+			Matcher input = INPUT.matcher(form.group(2));
+			while (input.find()) {
+				Map<String, String> attributes = attributes(input.group(1));
+				if ("hidden".equalsIgnoreCase(attributes.get("type")) && attributes.containsKey("name")) {
+					fields.put(attributes.get("name"), attributes.getOrDefault("value", ""));
+				}
+			}
+			values.forEach((name, value) -> {
+				if (value == null) {
+					fields.remove(name);
+				} else {
+					fields.put(name, value);
+				}
+			});
+			String action = attributes(form.group(1)).getOrDefault("action", "");
+			return exchange("POST", page.url.resolve(action), fields);
+		}
+		throw new IllegalStateException("No form with field '" + field + "' on " + page.url);
+	}
+
+	/**
+	 * @param page  The page
+	 * @param field Name of a checkbox
+	 * @return true if the page has the checkbox and it is checked
+	 */
+	boolean isChecked(Page page, String field) {
+		Matcher input = INPUT.matcher(page.body);
+		while (input.find()) {
+			Map<String, String> attributes = attributes(input.group(1));
+			if (field.equals(attributes.get("name")) && "checkbox".equalsIgnoreCase(attributes.get("type"))) {
+				return attributes.containsKey("checked");
+			}
+		}
+		return false;
+	}
+
+	private Page exchange(String method, URI uri, Map<String, String> form) throws IOException {
+		for (int redirects = 0; redirects <= MAX_REDIRECTS; redirects++) {
+			Reply reply = transport.send(method, uri, form, cookies);
+			cookies.putAll(reply.cookies);
+			if (reply.status >= 300 && reply.status < 400 && reply.location != null) {
+				uri = uri.resolve(reply.location);
+			} else if (reply.status >= 400) {
+				throw new IllegalStateException("HTTP " + reply.status + " from " + uri);
+			} else {
+				String redirect = jsonRedirect(uri, reply.body);
+				if (redirect == null) {
+					rememberToken(uri.toString());
+					rememberToken(reply.body);
+					return new Page(uri, reply.body);
+				}
+				uri = uri.resolve(redirect);
+			}
+			method = "GET";
+			form = Collections.emptyMap();
+		}
+		throw new IllegalStateException("Too many redirects from " + uri);
+	}
+
+	/**
+	 * Reads the store's JSON form replies: {"redirect": url} continues,
+	 * {"error": ...} fails.
+	 */
+	private static String jsonRedirect(URI uri, String body) {
+		String trimmed = body.trim();
+		if (!trimmed.startsWith("{")) {
+			return null;
+		}
+		Map<String, Object> reply;
+		try {
+			reply = JSON.toType(trimmed, Json.MAP_TYPE);
+		} catch (JsonException e) {
+			return null;
+		}
+		if (reply.containsKey("error")) {
+			throw new IllegalStateException("Rejected by " + uri + ": " + reply.get("error"));
+		}
+		Object redirect = reply.get("redirect");
+		return redirect == null ? null : redirect.toString().replace("&amp;", "&");
+	}
+
+	private void rememberToken(String text) {
+		Matcher token = CUSTOMER_TOKEN.matcher(text);
+		if (token.find()) {
+			customerToken = token.group(1);
+		}
+	}
+
+	private static Map<String, String> attributes(String tag) {
+		Map<String, String> attributes = new LinkedHashMap<>();
+		Matcher attribute = ATTRIBUTE.matcher(tag);
+		while (attribute.find()) {
+			String value = attribute.group(2) != null ? attribute.group(2)
+					: attribute.group(3) != null ? attribute.group(3) : attribute.group(4);
+			attributes.put(attribute.group(1).toLowerCase(), value == null ? "" : unescape(value));
+		}
+		return attributes;
+	}
+
+	private static String unescape(String value) {
+		return value.replace("&quot;", "\"").replace("&#39;", "'").replace("&lt;", "<").replace("&gt;", ">")
+				.replace("&amp;", "&");
+	}
+
+	/**
+	 * @param timeout Connect and request timeout
+	 * @return A transport sending real HTTP requests
+	 */
+	static Transport http(Duration timeout) {
+		HttpClient client = HttpClient.newBuilder().followRedirects(HttpClient.Redirect.NEVER)
+				.connectTimeout(timeout).build();
+		return (method, uri, form, cookies) -> {
+			HttpRequest.Builder request = HttpRequest.newBuilder(uri).timeout(timeout);
+			if (!cookies.isEmpty()) {
+				StringBuilder header = new StringBuilder();
+				cookies.forEach((name, value) -> header.append(header.length() == 0 ? "" : "; ").append(name)
+						.append('=').append(value));
+				request.header("Cookie", header.toString());
+			}
+			if (method.equals("POST")) {
+				request.header("Content-Type", "application/x-www-form-urlencoded")
+						.POST(HttpRequest.BodyPublishers.ofString(encode(form)));
+			}
+			HttpResponse<String> response;
+			try {
+				response = client.send(request.build(), HttpResponse.BodyHandlers.ofString());
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new IOException("Interrupted while requesting " + uri);
+			}
+			Map<String, String> received = new LinkedHashMap<>();
+			for (String cookie : response.headers().allValues("Set-Cookie")) {
+				String pair = cookie.split(";", 2)[0];
+				int equals = pair.indexOf('=');
+				if (equals > 0) {
+					received.put(pair.substring(0, equals).trim(), pair.substring(equals + 1).trim());
+				}
+			}
+			return new Reply(response.statusCode(), response.headers().firstValue("Location").orElse(null),
+					received, response.body());
+		};
+	}
+
+	/**
+	 * @param site The in-process stand-in site
+	 * @return A transport handing requests straight to the site
+	 */
+	static Transport standIn(StandInSite site) {
+		return (method, uri, form, cookies) -> {
+			String target = uri.getRawPath() == null || uri.getRawPath().isEmpty() ? "/" : uri.getRawPath();
+			if (uri.getRawQuery() != null) {
+				target += "?" + uri.getRawQuery();
+			}
+			StandInSite.Response response = site.handle(
+					new StandInSite.Request(method, target, form, cookies.get(StandInSite.SESSION_COOKIE)));
+			return new Reply(response.getStatus(), response.getLocation(),
+					Collections.singletonMap(StandInSite.SESSION_COOKIE, response.getSessionId()), response.getBody());
+		};
+	}
+
+	private static String encode(Map<String, String> form) {
+		StringBuilder body = new StringBuilder();
+		for (Map.Entry<String, String> field : form.entrySet()) {
+			if (body.length() > 0) {
+				body.append('&');
+			}
+			body.append(URLEncoder.encode(field.getKey(), StandardCharsets.UTF_8)).append('=')
+					.append(URLEncoder.encode(field.getValue(), StandardCharsets.UTF_8));
+		}
+		return body.toString();
+	}
+}
@@ -0,0 +1,138 @@
+package com.qa.interactions;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+
+/**
+ * Collects text and attributes from a list of elements, or finds the element
+ * whose text matches, with a single {@code executeScript} call regardless of
+ * the number of elements. Drivers without JavaScript support fall back to one
+ * call per element.
+ */
+public class ElementCollector {
+
+	private static final String COLLECT_SCRIPT = "var elements = arguments[0], names = arguments[1], rows = [];"
+			+ "for (var i = 0; i < elements.length; i++) {"
+			+ "  var e = elements[i], row = { text: (e.innerText || '').trim() };"
+			+ "  for (var j = 0; j < names.length; j++) { row[names[j]] = e.getAttribute(names[j]); }"
+			+ "  rows.push(row);"
+			+ "}"
+			+ "return rows;";
+
+	private static final String MATCH_SCRIPT = "var elements = arguments[0], needle = arguments[1];"
+			+ "for (var i = 0; i < elements.length; i++) {"
+			+ "  if ((elements[i].innerText || '').trim().toLowerCase().indexOf(needle) !== -1) { return elements[i]; }"
+			+ "}"
+			+ "return null;";
+
+	/**
+	 * Key under which the element text is stored in collected rows
+	 */
+	public static final String TEXT = "text";
+
+	private final WebDriver driver;
+
+	/**
+	 * @param driver WebDriver instance used to run the collection scripts
+	 */
+	public ElementCollector(WebDriver driver) {
+		this.driver = driver;
+	}
+
+	/**
+	 * Gets the visible text of every element.
+	 *
+	 * @param elements The elements to read
+	 * @return One text per element, in the same order
+	 */
+	public List<String> texts(List<WebElement> elements) {
+		List<String> texts = new ArrayList<>(elements.size());
+		for (Map<String, String> row : collect(elements)) {
+			texts.add(row.get(TEXT));
+		}
+		return texts;
+	}
+
+	/**
+	 * Gets the visible text and the requested attributes of every element.
+	 *
+	 * @param elements   The elements to read
+	 * @param attributes Attribute names to include in each row
+	 * @return One row per element, keyed by {@link #TEXT} and attribute name
+	 */
+	@SuppressWarnings("unchecked")
+	public List<Map<String, String>> collect(List<WebElement> elements, String... attributes) {
+		List<Map<String, String>> rows = new ArrayList<>(elements.size());
+		if (elements.isEmpty()) {
+			return rows;
+		}
+
+		if (!(driver instanceof JavascriptExecutor)) {
+			for (WebElement element : elements) {
+				Map<String, String> row = new HashMap<>();
+				row.put(TEXT, element.getText());
+				for (String attribute : attributes) {
+					row.put(attribute, element.getAttribute(attribute));
+				}
+				rows.add(row);
+			}
+			return rows;
+		}
+
+		List<Map<String, Object>> raw;
+		try {
+			raw = (List<Map<String, Object>>) ((JavascriptExecutor) driver).executeScript(COLLECT_SCRIPT, elements,
+					Arrays.asList(attributes));
+		} catch (StaleElementReferenceException e) {
+			ElementStateReader.invalidateHandles(elements);
+			throw e;
+		}
+		for (Map<String, Object> values : raw) {
+			Map<String, String> row = new HashMap<>();
+			for (Map.Entry<String, Object> value : values.entrySet()) {
+				row.put(value.getKey(), value.getValue() == null ? null : String.valueOf(value.getValue()));
+			}
+			rows.add(row);
+		}
+		return rows;
+	}
+
+	/**
+	 * Finds the first element whose visible text contains the given text,
+	 * ignoring case. The matching runs inside the browser.
+	 *
+	 * @param elements The elements to search
+	 * @param text     The text to look for
+	 * @return The first matching element, or null if none matches
+	 */
+	public WebElement firstContaining(List<WebElement> elements, String text) {
+		if (elements.isEmpty()) {
+			return null;
+		}
+		String needle = text.toLowerCase(Locale.ROOT);
+
+		if (!(driver instanceof JavascriptExecutor)) {
+			for (WebElement element : elements) {
+				if (element.getText().toLowerCase(Locale.ROOT).contains(needle)) {
+					return element;
+				}
+			}
+			return null;
+		}
+		try {
+			return (WebElement) ((JavascriptExecutor) driver).executeScript(MATCH_SCRIPT, elements, needle);
+		} catch (StaleElementReferenceException e) {
+			ElementStateReader.invalidateHandles(elements);
+			throw e;
+		}
+	}
+}
@@ -0,0 +1,58 @@
+package com.qa.interactions;
+
+import org.openqa.selenium.Rectangle;
+
+/**
+ * Snapshot of the state of a single element, captured in one round-trip by
+ * {@link ElementStateReader}.
+ */
+public final class ElementState {
+
+	private final boolean displayed;
+	private final boolean enabled;
+	private final boolean selected;
+	private final String text;
+	private final Rectangle rect;
+
+	/**
+	 * @param displayed true if the element is rendered and visible
+	 * @param enabled   true if the element is not disabled
+	 * @param selected  true if the element is a checked/selected input or option
+	 * @param text      Visible text of the element
+	 * @param rect      Position and size of the element in CSS pixels
+	 */
+	public ElementState(boolean displayed, boolean enabled, boolean selected, String text, Rectangle rect) {
+		this.displayed = displayed;
+		this.enabled = enabled;
+		this.selected = selected;
+		this.text = text;
+		this.rect = rect;
+	}
+
+	public boolean isDisplayed() {
+		return displayed;
+	}
+
+	public boolean isEnabled() {
+		return enabled;
+	}
+
+	public boolean isSelected() {
+		return selected;
+	}
+
+	public String getText() {
+		return text;
+	}
+
+	public Rectangle getRect() {
+		return rect;
+	}
+
+	/**
+	 * @return true if the element is both displayed and enabled
+	 */
+	public boolean isInteractable() {
+		return displayed && enabled;
+	}
+}
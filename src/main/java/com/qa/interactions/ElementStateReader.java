@@ -0,0 +1,109 @@
+package com.qa.interactions;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.Rectangle;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+
+import com.qa.base.LazyElement;
+
+/**
+ * Reads displayed/enabled/selected/text/rect for one or many elements in a
+ * single {@code executeScript} call instead of one WebDriver command per
+ * property. Drivers without JavaScript support fall back to the individual
+ * element calls.
+ */
+public class ElementStateReader {
+
+	private static final String STATE_SCRIPT = "var elements = arguments[0], states = [];"
+			+ "for (var i = 0; i < elements.length; i++) {"
+			+ "  var e = elements[i], r = e.getBoundingClientRect(), s = window.getComputedStyle(e);"
+			+ "  var shown = s.display !== 'none' && s.visibility !== 'hidden'"
+			+ "    && (e.offsetWidth > 0 || e.offsetHeight > 0 || e.getClientRects().length > 0);"
+			+ "  states.push({ displayed: shown, enabled: !e.disabled, selected: !!(e.checked || e.selected),"
+			+ "    text: shown ? (e.innerText || '').trim() : '',"
+			+ "    x: r.left, y: r.top, width: r.width, height: r.height });"
+			+ "}"
+			+ "return states;";
+
+	private final WebDriver driver;
+
+	/**
+	 * @param driver WebDriver instance used to run the state script
+	 */
+	public ElementStateReader(WebDriver driver) {
+		this.driver = driver;
+	}
+
+	/**
+	 * Reads the state of a single element.
+	 *
+	 * @param element The element to inspect
+	 * @return The element's state
+	 */
+	public ElementState read(WebElement element) {
+		return readAll(Collections.singletonList(element)).get(0);
+	}
+
+	/**
+	 * Reads the state of several elements in one round-trip.
+	 *
+	 * @param elements The elements to inspect
+	 * @return One state per element, in the same order
+	 */
+	@SuppressWarnings("unchecked")
+	public List<ElementState> readAll(List<WebElement> elements) {
+		List<ElementState> states = new ArrayList<>(elements.size());
+		if (elements.isEmpty()) {
+			return states;
+		}
+
+		if (!(driver instanceof JavascriptExecutor)) {
+			for (WebElement element : elements) {
+				states.add(new ElementState(element.isDisplayed(), element.isEnabled(), element.isSelected(),
+						element.getText(), element.getRect()));
+			}
+			return states;
+		}
+
+		List<Map<String, Object>> raw;
+		try {
+			raw = (List<Map<String, Object>>) ((JavascriptExecutor) driver).executeScript(STATE_SCRIPT, elements);
+		} catch (StaleElementReferenceException e) {
+			invalidateHandles(elements);
+			throw e;
+		}
+		for (Map<String, Object> state : raw) {
+			Rectangle rect = new Rectangle(toInt(state.get("x")), toInt(state.get("y")),
+					toInt(state.get("height")), toInt(state.get("width")));
+			states.add(new ElementState(Boolean.TRUE.equals(state.get("displayed")),
+					Boolean.TRUE.equals(state.get("enabled")), Boolean.TRUE.equals(state.get("selected")),
+					(String) state.get("text"), rect));
+		}
+		return states;
+	}
+
+	/**
+	 * Drops cached references of page element handles after a script failed on
+	 * a stale element, so the next attempt looks them up again.
+	 *
+	 * @param elements The elements passed to the script
+	 */
+	static void invalidateHandles(List<WebElement> elements) {
+		for (WebElement element : elements) {
+			if (element instanceof LazyElement) {
+				((LazyElement) element).invalidate();
+			}
+		}
+	}
+
+	private static int toInt(Object number) {
+		return number == null ? 0 : (int) Math.round(((Number) number).doubleValue());
+	}
+}
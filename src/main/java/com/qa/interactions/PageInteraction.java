@@ -1,46 +1,195 @@
 package com.qa.interactions;
 
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
 
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
-import org.openqa.selenium.support.PageFactory;
-import org.openqa.selenium.support.ui.ExpectedConditions;
 import org.openqa.selenium.support.ui.Select;
-import org.openqa.selenium.support.ui.WebDriverWait;
 import org.testng.Assert;
-import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Optional;
 
 import com.qa.base.BasePage;
+import com.qa.config.Configuration;
+import com.qa.metrics.StepTimings;
 
 /**
  * Utility class for interacting with web elements on a page.
+ *
+ * Every public method is timed through {@link StepTimings} when the
+ * "timing.enabled" setting is on.
  */
 public class PageInteraction extends BasePage {
 
-	WebDriverWait wait;
+	/* Instance shared by all page objects of the current thread's driver. */
+	private static final ThreadLocal<PageInteraction> shared = new ThreadLocal<>();
+
+	WaitEngine wait;
+
+	/* Batched reader used for all element state checks. */
+	ElementStateReader states;
+
+	/* Bulk text/attribute collector for element lists. */
+	ElementCollector collector;
 
 	/**
-	 * Constructor to initialize the WebDriver and WebDriverWait
+	 * Constructor to initialize the WebDriver, the WaitEngine, the
+	 * ElementStateReader and the ElementCollector
 	 *
 	 * @param driver WebDriver instance to be used by the page object.
 	 */
 	public PageInteraction(WebDriver driver) {
 		super(driver);
-		PageFactory.initElements(driver, this);
-		wait = new WebDriverWait(driver, Duration.ofSeconds(20));
+		wait = WaitEngine.fromConfig(driver, Configuration.get());
+		states = new ElementStateReader(driver);
+		collector = new ElementCollector(driver);
+	}
+
+	/**
+	 * Returns the PageInteraction shared by all page objects that use the given
+	 * driver on the current thread, creating it on first use.
+	 *
+	 * @param driver WebDriver instance used by the page objects
+	 * @return The shared PageInteraction for the driver
+	 */
+	public static PageInteraction of(WebDriver driver) {
+		PageInteraction interaction = shared.get();
+		if (interaction == null || interaction.driver != driver) {
+			interaction = new PageInteraction(driver);
+			shared.set(interaction);
+		}
+		return interaction;
 	}
 
 	/**
-	 * Checks if the given WebElement is interactable (enabled and displayed).
+	 * Waits for the given WebElement to be displayed and returns its state. Each
+	 * poll reads displayed/enabled/selected/text in a single round-trip.
+	 *
+	 * @param element The WebElement to wait for
+	 * @param timeout Maximum time to wait
+	 * @return The state of the displayed element
+	 */
+	private ElementState awaitDisplayed(WebElement element, Duration timeout) {
+		return wait.until(d -> {
+			ElementState state = states.read(element);
+			return state.isDisplayed() ? state : null;
+		}, timeout);
+	}
+
+	/**
+	 * Waits for the given WebElement to be displayed, then checks that it is
+	 * enabled. This is the only visibility check performed per action.
 	 *
 	 * @param element The WebElement to check
 	 * @return true if the element is interactable, false otherwise
 	 */
 	public boolean isElementVisible(WebElement element) {
-		wait.until(ExpectedConditions.visibilityOf(element));
-		return element.isEnabled() && element.isDisplayed();
+		long start = StepTimings.start();
+		try {
+			return isInteractable(element);
+		} finally {
+			StepTimings.stop("isElementVisible", element, start);
+		}
+	}
+
+	/**
+	 * Untimed {@link #isElementVisible(WebElement)}, for use inside other timed
+	 * steps so every public call is recorded exactly once.
+	 */
+	private boolean isInteractable(WebElement element) {
+		return awaitDisplayed(element, wait.getTimeout()).isEnabled();
+	}
+
+	/**
+	 * Untimed {@link #getElementText(WebElement)}, for use inside other timed
+	 * steps.
+	 */
+	private String displayedText(WebElement element) {
+		return element == null ? null : awaitDisplayed(element, wait.getTimeout()).getText();
+	}
+
+	/**
+	 * Reads the state of several WebElements in a single round-trip.
+	 *
+	 * @param elements The WebElements to inspect
+	 * @return One ElementState per element, in the same order
+	 */
+	public List<ElementState> getElementStates(List<WebElement> elements) {
+		long start = StepTimings.start();
+		try {
+			return states.readAll(elements);
+		} finally {
+			StepTimings.stop("getElementStates", elements, start);
+		}
+	}
+
+	/**
+	 * Waits until the given condition returns a value that is neither null nor
+	 * false.
+	 *
+	 * @param condition The condition to evaluate
+	 * @return The value returned by the condition
+	 */
+	public <T> T waitUntil(Function<WebDriver, T> condition) {
+		long start = StepTimings.start();
+		try {
+			return wait.until(condition);
+		} finally {
+			StepTimings.stop("waitUntil", null, start);
+		}
+	}
+
+	/**
+	 * Gets the visible text of every WebElement in a single round-trip.
+	 *
+	 * @param elements The WebElements to read
+	 * @return One text per element, in the same order
+	 */
+	public List<String> getElementTexts(List<WebElement> elements) {
+		long start = StepTimings.start();
+		try {
+			return collector.texts(elements);
+		} finally {
+			StepTimings.stop("getElementTexts", elements, start);
+		}
+	}
+
+	/**
+	 * Gets the visible text and the given attributes of every WebElement in a
+	 * single round-trip.
+	 *
+	 * @param elements   The WebElements to read
+	 * @param attributes Attribute names to collect
+	 * @return One row per element, keyed by "text" and attribute name
+	 */
+	public List<Map<String, String>> collectElements(List<WebElement> elements, String... attributes) {
+		long start = StepTimings.start();
+		try {
+			return collector.collect(elements, attributes);
+		} finally {
+			StepTimings.stop("collectElements", elements, start);
+		}
+	}
+
+	/**
+	 * Finds the first WebElement whose text contains the given text, ignoring
+	 * case. The matching runs in the browser in a single round-trip.
+	 *
+	 * @param elements The WebElements to search
+	 * @param text     The text to look for
+	 * @return The first matching WebElement, or null if none matches
+	 */
+	public WebElement findElementContainingText(List<WebElement> elements, String text) {
+		long start = StepTimings.start();
+		try {
+			return collector.firstContaining(elements, text);
+		} finally {
+			StepTimings.stop("findElementContainingText", elements, start);
+		}
 	}
 
 	/**
@@ -51,14 +200,16 @@ public class PageInteraction extends BasePage {
 	 * @throws IllegalArgumentException if the element is null or not interactable
 	 */
 	public void inputText(WebElement element, String value, @Optional CharSequence... keysToSend) {
-		wait.until(ExpectedConditions.visibilityOf(element));
+		long start = StepTimings.start();
 		try {
-			if (element != null && isElementVisible(element)) {
+			if (element != null && isInteractable(element)) {
 				element.clear(); // Clear any existing text
 				element.sendKeys(value); // Input the new text
 			}
 		} catch (Exception e) {
 			throw new IllegalArgumentException(e.getMessage());
+		} finally {
+			StepTimings.stop("inputText", element, start);
 		}
 	}
 
@@ -69,13 +220,15 @@ public class PageInteraction extends BasePage {
 	 * @throws IllegalArgumentException if the element is null or not interactable
 	 */
 	public void clickElement(WebElement element) {
-		wait.until(ExpectedConditions.visibilityOf(element));
+		long start = StepTimings.start();
 		try {
-			if (element != null && isElementVisible(element)) {
+			if (element != null && isInteractable(element)) {
 				element.click();
 			}
 		} catch (Exception e) {
 			throw new IllegalArgumentException(e.getMessage());
+		} finally {
+			StepTimings.stop("clickElement", element, start);
 		}
 	}
 
@@ -89,14 +242,16 @@ public class PageInteraction extends BasePage {
 	 *                                  element is not interactable
 	 */
 	public void selectDropdownOptionByVisibleText(WebElement element, String text) {
-		wait.until(ExpectedConditions.visibilityOf(element));
+		long start = StepTimings.start();
 		try {
-			if (element != null && text != null && isElementVisible(element)) {
+			if (element != null && text != null && isInteractable(element)) {
 				Select options = new Select(element);
 				options.selectByVisibleText(text);
 			}
 		} catch (Exception e) {
 			throw new IllegalArgumentException(e.getMessage());
+		} finally {
+			StepTimings.stop("selectDropdownOptionByVisibleText", element, start);
 		}
 	}
 
@@ -108,11 +263,13 @@ public class PageInteraction extends BasePage {
 	 * @throws IllegalArgumentException if the element is null or not interactable
 	 */
 	public boolean checkIfElementExists(WebElement element) {
-		wait.until(ExpectedConditions.visibilityOf(element));
+		long start = StepTimings.start();
 		try {
-			return element != null && isElementVisible(element);
+			return element != null && isInteractable(element);
 		} catch (Exception e) {
 			throw new IllegalArgumentException(e.getMessage());
+		} finally {
+			StepTimings.stop("checkIfElementExists", element, start);
 		}
 	}
 
@@ -123,49 +280,43 @@ public class PageInteraction extends BasePage {
 	 * @throws IllegalArgumentException if the element is null or not interactable
 	 */
 	public void selectCheckBox(WebElement element) {
-		wait.until(ExpectedConditions.visibilityOf(element));
+		long start = StepTimings.start();
 		try {
-			if (element != null && isElementVisible(element)) {
-				boolean privacyPolicyFlag = element.isSelected();
-				if (!privacyPolicyFlag)
+			if (element != null) {
+				ElementState state = awaitDisplayed(element, wait.getTimeout());
+				boolean privacyPolicyFlag = state.isSelected();
+				if (state.isEnabled() && !privacyPolicyFlag)
 					element.click();
 			}
 		} catch (Exception e) {
 			throw new IllegalArgumentException(e.getMessage());
+		} finally {
+			StepTimings.stop("selectCheckBox", element, start);
 		}
 	}
 
 	/**
-	 * Verifies that the current page URL contains the specified path.
+	 * Verifies that the current page URL contains the specified path. The URL is
+	 * decoded first, so "route=product/search" also matches the
+	 * "route=product%2Fsearch" a submitted search form produces.
 	 *
 	 * @param path The URL path to verify
 	 * @throws IllegalArgumentException if the URL does not contain the path
 	 */
 	public void verifyPageNavigation(String path) {
+		long start = StepTimings.start();
 		try {
 			if (!path.isEmpty()) {
-				wait.until(ExpectedConditions.urlContains(path));
-				String actualUrl = driver.getCurrentUrl();
+				String actualUrl = wait.until(d -> {
+					String url = URLDecoder.decode(d.getCurrentUrl(), StandardCharsets.UTF_8);
+					return url.contains(path) ? url : null;
+				});
 				Assert.assertEquals(actualUrl.contains(path), true);
 			}
 		} catch (Exception e) {
 			throw new IllegalArgumentException(e.getMessage());
-		}
-	}
-
-	/**
-	 * Sets an implicit wait time for WebDriver.
-	 *
-	 * @param time The time to wait in seconds
-	 * @throws IllegalArgumentException if an error occurs while setting the wait
-	 *                                  time
-	 */
-	@BeforeMethod
-	public void implicitWait(int time) {
-		try {
-			driver.manage().timeouts().implicitlyWait(Duration.ofSeconds(time));
-		} catch (Exception e) {
-			throw new IllegalArgumentException(e.getMessage());
+		} finally {
+			StepTimings.stop("verifyPageNavigation", null, start);
 		}
 	}
 
@@ -177,13 +328,15 @@ public class PageInteraction extends BasePage {
 	 * @throws IllegalArgumentException if an error occurs while waiting
 	 */
 	public void explicitWait(WebElement element, int time) {
+		long start = StepTimings.start();
 		try {
 			if (element != null) {
-				WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(time));
-				wait.until(ExpectedConditions.visibilityOf(element));
+				awaitDisplayed(element, Duration.ofSeconds(time));
 			}
 		} catch (Exception e) {
 			throw new IllegalArgumentException(e.getMessage());
+		} finally {
+			StepTimings.stop("explicitWait", element, start);
 		}
 	}
 
@@ -195,14 +348,14 @@ public class PageInteraction extends BasePage {
 	 * @throws IllegalArgumentException if an error occurs while getting the text
 	 */
 	public String getElementText(WebElement element) {
-		wait.until(ExpectedConditions.visibilityOf(element));
 		String text = null;
+		long start = StepTimings.start();
 		try {
-			if (element != null) {
-				text = element.getText();
-			}
+			text = displayedText(element);
 		} catch (Exception e) {
 			throw new IllegalArgumentException(e.getMessage());
+		} finally {
+			StepTimings.stop("getElementText", element, start);
 		}
 		return text;
 	}
@@ -217,12 +370,14 @@ public class PageInteraction extends BasePage {
 	 *                                  expected message
 	 */
 	public void verifyErrorTextMessage(WebElement element, String expectedMsg) {
-		wait.until(ExpectedConditions.visibilityOf(element));
+		long start = StepTimings.start();
 		try {
-			String actualMsg = getElementText(element);
+			String actualMsg = displayedText(element);
 			Assert.assertEquals(actualMsg, expectedMsg);
 		} catch (Exception e) {
 			throw new IllegalArgumentException(e.getMessage());
+		} finally {
+			StepTimings.stop("verifyErrorTextMessage", element, start);
 		}
 	}
 
@@ -235,11 +390,14 @@ public class PageInteraction extends BasePage {
 	 *                                  expected text
 	 */
 	public void compareText(String actualText, String expectedText) {
+		long start = StepTimings.start();
 		try {
 			if (!actualText.isEmpty() && !expectedText.isEmpty())
 				Assert.assertEquals(actualText, expectedText);
 		} catch (Exception e) {
 			throw new IllegalArgumentException(e.getMessage());
+		} finally {
+			StepTimings.stop("compareText", null, start);
 		}
 	}
 
@@ -251,10 +409,13 @@ public class PageInteraction extends BasePage {
 	 */
 	public String getPageTitle() {
 		String title = null;
+		long start = StepTimings.start();
 		try {
 			title = driver.getTitle();
 		} catch (Exception e) {
 			throw new IllegalArgumentException(e.getMessage());
+		} finally {
+			StepTimings.stop("getPageTitle", null, start);
 		}
 
 		return title;
@@ -0,0 +1,121 @@
+package com.qa.interactions;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+
+import com.qa.config.Configuration;
+
+/**
+ * Single polling wait used for every synchronisation point in the framework.
+ *
+ * Conditions are polled starting at a short interval that grows by a backoff
+ * factor up to a maximum, so fast pages are detected quickly without hammering
+ * slow ones. Implicit waits are never used alongside it, which keeps failure
+ * timeouts equal to the configured timeout instead of multiplying them.
+ */
+public class WaitEngine {
+
+	private final WebDriver driver;
+	private final Duration timeout;
+	private final Duration pollInterval;
+	private final Duration maxPollInterval;
+	private final double backoff;
+
+	/**
+	 * Creates a wait engine.
+	 *
+	 * @param driver          WebDriver instance passed to the conditions
+	 * @param timeout         Default time to wait for a condition
+	 * @param pollInterval    Delay before the first re-check
+	 * @param maxPollInterval Upper bound for the delay between checks
+	 * @param backoff         Factor applied to the delay after each check
+	 */
+	public WaitEngine(WebDriver driver, Duration timeout, Duration pollInterval, Duration maxPollInterval,
+			double backoff) {
+		if (backoff < 1.0) {
+			throw new IllegalArgumentException("Backoff factor must be at least 1.0");
+		}
+		this.driver = driver;
+		this.timeout = timeout;
+		this.pollInterval = pollInterval;
+		this.maxPollInterval = maxPollInterval;
+		this.backoff = backoff;
+	}
+
+	/**
+	 * Creates a wait engine from the "wait.*" settings.
+	 *
+	 * @param driver WebDriver instance passed to the conditions
+	 * @param config Configuration holding the wait settings
+	 * @return A configured WaitEngine
+	 */
+	public static WaitEngine fromConfig(WebDriver driver, Configuration config) {
+		return new WaitEngine(driver, config.getDuration("wait.timeout", Duration.ofSeconds(10)),
+				config.getDuration("wait.pollInterval", Duration.ofMillis(50)),
+				config.getDuration("wait.maxPollInterval", Duration.ofMillis(500)),
+				Double.parseDouble(config.getString("wait.backoff", "1.5")));
+	}
+
+	/**
+	 * @return The default timeout of this engine
+	 */
+	public Duration getTimeout() {
+		return timeout;
+	}
+
+	/**
+	 * Waits with the default timeout until the condition returns a value that is
+	 * neither null nor false.
+	 *
+	 * @param condition Condition to evaluate
+	 * @return The value returned by the condition
+	 * @throws TimeoutException if the condition is not met in time
+	 */
+	public <T> T until(Function<WebDriver, T> condition) {
+		return until(condition, timeout);
+	}
+
+	/**
+	 * Waits until the condition returns a value that is neither null nor false.
+	 * Missing and stale elements are treated as "not yet".
+	 *
+	 * @param condition Condition to evaluate
+	 * @param timeout   Maximum time to wait
+	 * @return The value returned by the condition
+	 * @throws TimeoutException if the condition is not met in time
+	 */
+	public <T> T until(Function<WebDriver, T> condition, Duration timeout) {
+		long deadline = System.nanoTime() + timeout.toNanos();
+		long delay = pollInterval.toMillis();
+		RuntimeException lastError = null;
+
+		while (true) {
+			try {
+				T value = condition.apply(driver);
+				if (value != null && !Boolean.FALSE.equals(value)) {
+					return value;
+				}
+			} catch (NoSuchElementException | StaleElementReferenceException e) {
+				lastError = e;
+			}
+
+			long remaining = deadline - System.nanoTime();
+			if (remaining <= 0) {
+				throw new TimeoutException("Condition not met within " + timeout.toMillis() + "ms: " + condition,
+						lastError);
+			}
+			try {
+				Thread.sleep(Math.min(delay, Duration.ofNanos(remaining).toMillis() + 1));
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new TimeoutException("Interrupted while waiting", e);
+			}
+			delay = Math.min((long) (delay * backoff) + 1, maxPollInterval.toMillis());
+		}
+	}
+}
@@ -0,0 +1,50 @@
+package com.qa.listeners;
+
+import java.util.List;
+
+import org.testng.IAlterSuiteListener;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+import org.testng.xml.XmlSuite;
+import org.testng.xml.XmlTest;
+
+import com.qa.parallel.ParallelismController;
+
+/**
+ * Replaces the suites' fixed thread counts with the ParallelismController's.
+ * TestNG's thread pools are sized to the most workers the machine can hold,
+ * and the controller decides at runtime how many of them may run a test.
+ *
+ * Register it in the suite file's listeners section. Thread counts of suites
+ * and tests that do not run in parallel are left alone; the data provider
+ * thread count is always set, since parallel data providers use it whatever
+ * the suite's mode.
+ */
+public class AdaptiveParallelismListener implements IAlterSuiteListener, ISuiteListener {
+
+	@Override
+	public void alter(List<XmlSuite> suites) {
+		int workers = ParallelismController.get().getMaxWorkers();
+		for (XmlSuite suite : suites) {
+			suite.setDataProviderThreadCount(workers);
+			if (isParallel(suite.getParallel())) {
+				suite.setThreadCount(workers);
+			}
+			for (XmlTest test : suite.getTests()) {
+				if (isParallel(test.getParallel())) {
+					test.setThreadCount(workers);
+				}
+			}
+		}
+		System.out.println("Parallelism sized for up to " + workers + " workers");
+	}
+
+	@Override
+	public void onStart(ISuite suite) {
+		ParallelismController.get().start();
+	}
+
+	private static boolean isParallel(XmlSuite.ParallelMode mode) {
+		return mode != null && mode != XmlSuite.ParallelMode.NONE;
+	}
+}
@@ -0,0 +1,71 @@
+package com.qa.listeners;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import org.testng.IMethodInstance;
+import org.testng.IMethodInterceptor;
+import org.testng.ITestContext;
+
+import com.qa.config.Configuration;
+import com.qa.metrics.TestHistory;
+
+/**
+ * Orders test methods by what the {@link TestHistory} recorded in earlier runs,
+ * so the workers finish together instead of one of them starting a long test
+ * last. The "schedule.order" setting picks the order:
+ * <ul>
+ * <li>"longest" (default): longest first; methods without history run first,
+ * since they may be the longest</li>
+ * <li>"failfirst": methods that failed within the last "schedule.failWindow"
+ * runs first, most recent failures ahead, then longest first</li>
+ * <li>"declared": TestNG's own order</li>
+ * </ul>
+ * Dependencies between methods and groups still hold; the order only decides
+ * which of the methods ready to run starts next.
+ */
+public class HistoryOrderInterceptor implements IMethodInterceptor {
+
+	@Override
+	public List<IMethodInstance> intercept(List<IMethodInstance> methods, ITestContext context) {
+		Configuration config = Configuration.get();
+		String order = config.getString("schedule.order", "longest").toLowerCase();
+		if (order.equals("declared")) {
+			return methods;
+		}
+		if (!order.equals("longest") && !order.equals("failfirst")) {
+			throw new IllegalStateException("Unknown schedule.order: " + order);
+		}
+
+		TestHistory history = TestHistory.get();
+		Comparator<IMethodInstance> longestFirst = Comparator
+				.comparingLong(method -> -expectedMillis(history.find(method.getMethod())));
+		Comparator<IMethodInstance> comparator = longestFirst;
+		if (order.equals("failfirst")) {
+			int window = config.getInt("schedule.failWindow", 3);
+			comparator = Comparator.<IMethodInstance>comparingInt(
+					method -> failureRank(history.find(method.getMethod()), window)).thenComparing(longestFirst);
+		}
+
+		// Stable, so methods that compare equal keep TestNG's order
+		List<IMethodInstance> ordered = new ArrayList<>(methods);
+		ordered.sort(comparator);
+		return ordered;
+	}
+
+	private static long expectedMillis(TestHistory.Entry entry) {
+		return entry == null ? Long.MAX_VALUE : entry.getAverageMillis();
+	}
+
+	/**
+	 * @return Runs since the method's last failure inside the window, or the
+	 *         window size if it did not fail recently
+	 */
+	private static int failureRank(TestHistory.Entry entry, int window) {
+		if (entry == null || entry.getRunsSinceFailure() < 0 || entry.getRunsSinceFailure() >= window) {
+			return window;
+		}
+		return entry.getRunsSinceFailure();
+	}
+}
@@ -1,55 +1,105 @@
 package com.qa.listeners;
 
+import java.time.Duration;
+
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
 import org.testng.ITestContext;
 import org.testng.ITestListener;
 import org.testng.ITestResult;
 
-import com.qa.base.BaseTest;
+import com.qa.artifacts.ArtifactContext;
+import com.qa.artifacts.ScreenshotPipeline;
+import com.qa.config.Configuration;
+import com.qa.events.EventLog;
+import com.qa.events.TestEvent;
+import com.qa.events.TestEvent.Type;
+import com.qa.metrics.StepTimings;
+import com.qa.metrics.TestHistory;
 
-public class TestListener extends BaseTest implements ITestListener {
+/**
+ * Writes every TestNG callback to the structured event log, captures a
+ * screenshot when a test fails, records durations and outcomes in the test
+ * history and reports step timings when the suite ends.
+ */
+public class TestListener implements ITestListener, ISuiteListener {
 
 	@Override
 	public void onTestStart(ITestResult result) {
-		System.out.println(result.getName());
-		System.out.println("onTestStart");
+		log(Type.TEST_START, result);
 	}
 
 	@Override
 	public void onTestSuccess(ITestResult result) {
-		System.out.println(result.getName());
-		System.out.println("onTestSuccess");
+		log(Type.TEST_SUCCESS, result);
+		TestHistory.get().record(result);
 	}
 
 	@Override
 	public void onTestFailure(ITestResult result) {
-		System.out.println(result.getName());
-		System.out.println("onTestFailure");
+		log(Type.TEST_FAILURE, result);
+		TestHistory.get().record(result);
 
-		CaptureScreenShot(result.getTestContext().getName() + "_" + result.getName());
+		// Capture from the driver attached to this result, whichever thread we are on
+		try {
+			ArtifactContext.captureScreenshot(result);
+		} catch (Exception e) {
+			System.out.println(e.getMessage());
+		}
 	}
 
 	@Override
 	public void onTestSkipped(ITestResult result) {
-		System.out.println(result.getName());
-		System.out.println("onTestSkipped");
+		log(Type.TEST_SKIPPED, result);
 	}
 
 	@Override
 	public void onTestFailedWithTimeout(ITestResult result) {
-		System.out.println(result.getName());
-		System.out.println("onTestFailedWithTimeout");
+		log(Type.TEST_TIMEOUT, result);
+		TestHistory.get().record(result);
 	}
 
 	@Override
 	public void onStart(ITestContext context) {
-		System.out.println(context.getName());
-		System.out.println("onStart");
+		EventLog.get().publish(new TestEvent(Type.CONTEXT_START, System.currentTimeMillis(), context.getName(), null,
+				null, Thread.currentThread().getName(), browserOf(context), 0, null));
 	}
 
 	@Override
 	public void onFinish(ITestContext context) {
-		System.out.println(context.getName());
-		System.out.println("onFinish");
+		long duration = context.getEndDate().getTime() - context.getStartDate().getTime();
+		EventLog.get().publish(new TestEvent(Type.CONTEXT_FINISH, System.currentTimeMillis(), context.getName(), null,
+				null, Thread.currentThread().getName(), browserOf(context), duration, null));
+
+		// Make sure every queued screenshot and event is on disk before reports are built
+		ScreenshotPipeline.get().flush(Duration.ofMinutes(1));
+		EventLog.get().flush(Duration.ofSeconds(10));
+	}
+
+	@Override
+	public void onFinish(ISuite suite) {
+		StepTimings.report(ArtifactContext.runDirectory().resolve("timings.txt"));
+		TestHistory.get().save();
 	}
 
+	/**
+	 * Publishes a test-level event. End events carry the test duration and, for
+	 * failures, the cause.
+	 */
+	private void log(Type type, ITestResult result) {
+		long now = System.currentTimeMillis();
+		long duration = type == Type.TEST_START ? 0 : Math.max(0, now - result.getStartMillis());
+		Throwable cause = result.getThrowable();
+		String failure = cause == null || type == Type.TEST_START ? null
+				: cause.getClass().getName() + ": " + cause.getMessage();
+
+		EventLog.get().publish(new TestEvent(type, now, result.getTestContext().getName(),
+				result.getTestClass().getName(), result.getName(), Thread.currentThread().getName(),
+				browserOf(result.getTestContext()), duration, failure));
+	}
+
+	private static String browserOf(ITestContext context) {
+		String browser = context.getCurrentXmlTest().getParameter("browserName");
+		return browser != null ? browser : Configuration.get().getString("browserName", "edge");
+	}
 }
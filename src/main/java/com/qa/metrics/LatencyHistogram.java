@@ -0,0 +1,109 @@
+package com.qa.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Fixed-size latency histogram with HdrHistogram-style log-linear buckets.
+ *
+ * Values are recorded in microseconds. Below 256 microseconds every value has
+ * its own bucket; above that, each power of two is split into 128 linear
+ * buckets, so any recorded value is reported within 1% of its true value. Recording is a
+ * couple of atomic increments and never allocates or locks, which keeps it
+ * safe to call from parallel test threads.
+ */
+public final class LatencyHistogram {
+
+	private static final int LINEAR_BUCKETS = 256;
+	private static final int SUB_BUCKETS = 128;
+	private static final int SUB_BUCKET_BITS = 7;
+
+	/**
+	 * Largest trackable value, about 19 hours; larger values are clamped
+	 */
+	private static final long MAX_VALUE = (1L << 36) - 1;
+
+	private final AtomicLongArray counts = new AtomicLongArray(indexOf(MAX_VALUE) + 1);
+	private final LongAdder total = new LongAdder();
+	private final LongAdder sum = new LongAdder();
+	private final AtomicLong max = new AtomicLong();
+
+	/**
+	 * Records one measurement.
+	 *
+	 * @param nanos Measured duration in nanoseconds
+	 */
+	public void recordNanos(long nanos) {
+		long micros = Math.min(Math.max(nanos / 1000, 0), MAX_VALUE);
+		counts.incrementAndGet(indexOf(micros));
+		total.increment();
+		sum.add(micros);
+		if (micros > max.get()) {
+			max.accumulateAndGet(micros, Math::max);
+		}
+	}
+
+	/**
+	 * @return Number of recorded measurements
+	 */
+	public long getCount() {
+		return total.sum();
+	}
+
+	/**
+	 * @return Largest recorded value in microseconds
+	 */
+	public long getMaxMicros() {
+		return max.get();
+	}
+
+	/**
+	 * @return Mean of the recorded values in microseconds, 0 when empty
+	 */
+	public double getMeanMicros() {
+		long count = total.sum();
+		return count == 0 ? 0 : (double) sum.sum() / count;
+	}
+
+	/**
+	 * Gets the value below which the given share of measurements fall.
+	 *
+	 * @param percentile Percentile between 0 and 100
+	 * @return Upper bound of the percentile's bucket in microseconds, 0 when empty
+	 */
+	public long getPercentileMicros(double percentile) {
+		long count = total.sum();
+		if (count == 0) {
+			return 0;
+		}
+		long target = Math.max(1, (long) Math.ceil(Math.min(percentile, 100.0) / 100.0 * count));
+		long seen = 0;
+		for (int i = 0; i < counts.length(); i++) {
+			seen += counts.get(i);
+			if (seen >= target) {
+				return Math.min(highestValueAt(i), max.get());
+			}
+		}
+		return max.get();
+	}
+
+	private static int indexOf(long micros) {
+		if (micros < LINEAR_BUCKETS) {
+			return (int) micros;
+		}
+		// Shift so the value falls in [128, 256); the shift selects the bucket
+		int shift = 63 - Long.numberOfLeadingZeros(micros) - SUB_BUCKET_BITS;
+		int subBucket = (int) (micros >>> shift) - SUB_BUCKETS;
+		return LINEAR_BUCKETS + (shift - 1) * SUB_BUCKETS + subBucket;
+	}
+
+	private static long highestValueAt(int index) {
+		if (index < LINEAR_BUCKETS) {
+			return index;
+		}
+		int shift = (index - LINEAR_BUCKETS) / SUB_BUCKETS + 1;
+		long subBucket = (index - LINEAR_BUCKETS) % SUB_BUCKETS + SUB_BUCKETS;
+		return ((subBucket + 1) << shift) - 1;
+	}
+}
@@ -0,0 +1,131 @@
+package com.qa.metrics;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.qa.base.LazyElement;
+import com.qa.base.LazyElementList;
+import com.qa.config.Configuration;
+
+/**
+ * Latency histograms for framework steps, keyed by operation, by page object
+ * and by locator.
+ *
+ * Callers bracket a step with {@link #start()} and
+ * {@link #stop(String, Object, long)}. Timing is switched on with the
+ * "timing.enabled" setting; the flag is a constant read once per JVM, so when
+ * it is off both calls return immediately and are optimised away by the JIT.
+ * {@link #report(Path)} writes the percentiles at the end of the suite.
+ */
+public final class StepTimings {
+
+	private static final boolean ENABLED = Configuration.get().getBoolean("timing.enabled", false);
+
+	private static final Map<String, LatencyHistogram> byOperation = new ConcurrentHashMap<>();
+	private static final Map<String, LatencyHistogram> byPage = new ConcurrentHashMap<>();
+	private static final Map<String, LatencyHistogram> byLocator = new ConcurrentHashMap<>();
+
+	private StepTimings() {
+	}
+
+	/**
+	 * @return true if steps are being timed
+	 */
+	public static boolean isEnabled() {
+		return ENABLED;
+	}
+
+	/**
+	 * Marks the start of a step.
+	 *
+	 * @return Start timestamp to pass to {@link #stop(String, Object, long)}
+	 */
+	public static long start() {
+		return ENABLED ? System.nanoTime() : 0L;
+	}
+
+	/**
+	 * Records a step. Targets bound by the PageInitializer are also recorded
+	 * under their page class and field name; other targets only count towards
+	 * the operation.
+	 *
+	 * @param operation Name of the step, e.g. "clickElement"
+	 * @param target    Element or element list the step acted on, or null
+	 * @param start     Value returned by {@link #start()}
+	 */
+	public static void stop(String operation, Object target, long start) {
+		if (!ENABLED) {
+			return;
+		}
+		long elapsed = System.nanoTime() - start;
+		histogram(byOperation, operation).recordNanos(elapsed);
+
+		String name = target instanceof LazyElement ? ((LazyElement) target).getName()
+				: target instanceof LazyElementList ? ((LazyElementList) target).getName() : null;
+		if (name != null) {
+			int dot = name.indexOf('.');
+			histogram(byPage, dot > 0 ? name.substring(0, dot) : name).recordNanos(elapsed);
+			histogram(byLocator, name).recordNanos(elapsed);
+		}
+	}
+
+	private static LatencyHistogram histogram(Map<String, LatencyHistogram> histograms, String key) {
+		LatencyHistogram histogram = histograms.get(key);
+		return histogram != null ? histogram : histograms.computeIfAbsent(key, k -> new LatencyHistogram());
+	}
+
+	/**
+	 * Builds the percentile table of everything recorded so far, one line per
+	 * operation, page and locator, in milliseconds.
+	 *
+	 * @return The report lines, empty when timing is disabled or nothing was
+	 *         recorded
+	 */
+	public static List<String> summary() {
+		List<String> lines = new ArrayList<>();
+		if (byOperation.isEmpty()) {
+			return lines;
+		}
+		lines.add(String.format("%-9s %-48s %8s %9s %9s %9s %9s %9s", "scope", "name", "count", "mean", "p50", "p90",
+				"p99", "max"));
+		append(lines, "operation", byOperation);
+		append(lines, "page", byPage);
+		append(lines, "locator", byLocator);
+		return lines;
+	}
+
+	private static void append(List<String> lines, String scope, Map<String, LatencyHistogram> histograms) {
+		for (Map.Entry<String, LatencyHistogram> entry : new TreeMap<>(histograms).entrySet()) {
+			LatencyHistogram h = entry.getValue();
+			lines.add(String.format("%-9s %-48s %8d %9.3f %9.3f %9.3f %9.3f %9.3f", scope, entry.getKey(), h.getCount(),
+					h.getMeanMicros() / 1000.0, h.getPercentileMicros(50) / 1000.0, h.getPercentileMicros(90) / 1000.0,
+					h.getPercentileMicros(99) / 1000.0, h.getMaxMicros() / 1000.0));
+		}
+	}
+
+	/**
+	 * Writes the percentile table to a file and prints it.
+	 *
+	 * @param file File to write, e.g. timings.txt in the run directory
+	 */
+	public static void report(Path file) {
+		List<String> lines = summary();
+		if (lines.isEmpty()) {
+			return;
+		}
+		try {
+			Files.createDirectories(file.toAbsolutePath().getParent());
+			Files.write(file, lines, StandardCharsets.UTF_8);
+		} catch (IOException e) {
+			System.out.println("Step timings not written to " + file + ": " + e.getMessage());
+		}
+		lines.forEach(System.out::println);
+	}
+}
@@ -0,0 +1,196 @@
+package com.qa.metrics;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.testng.ITestNGMethod;
+import org.testng.ITestResult;
+
+import com.qa.config.Configuration;
+
+/**
+ * Duration and outcome of every test method across runs, used to schedule
+ * long and recently failed tests first.
+ *
+ * Results are summed per method during the run, so a data-driven method
+ * counts with all its invocations. {@link #save()} folds the run into an
+ * exponentially weighted average and writes the history as tab-separated
+ * lines to "history.file" (test-history.tsv in the artifacts directory by
+ * default), replacing the file atomically.
+ */
+public final class TestHistory {
+
+	private static final class Holder {
+		private static final TestHistory INSTANCE = new TestHistory(Configuration.get());
+	}
+
+	/**
+	 * Weight of the latest run in the average duration
+	 */
+	private static final double SMOOTHING = 0.3;
+
+	/**
+	 * What is known about one test method.
+	 */
+	public static final class Entry {
+		private final long averageMillis;
+		private final int runs;
+		private final int runsSinceFailure;
+
+		private Entry(long averageMillis, int runs, int runsSinceFailure) {
+			this.averageMillis = averageMillis;
+			this.runs = runs;
+			this.runsSinceFailure = runsSinceFailure;
+		}
+
+		/**
+		 * @return Average time the method took per run, all invocations included
+		 */
+		public long getAverageMillis() {
+			return averageMillis;
+		}
+
+		/**
+		 * @return Number of runs the average is based on
+		 */
+		public int getRuns() {
+			return runs;
+		}
+
+		/**
+		 * @return 0 if the method failed in the last run it took part in, the
+		 *         number of passing runs since its last failure, or -1 if it
+		 *         never failed
+		 */
+		public int getRunsSinceFailure() {
+			return runsSinceFailure;
+		}
+	}
+
+	/**
+	 * Totals of the current run for one method.
+	 */
+	private static final class RunTotals {
+		private final LongAdder millis = new LongAdder();
+		private volatile boolean failed;
+	}
+
+	private final Path file;
+	private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+	private final Map<String, RunTotals> current = new ConcurrentHashMap<>();
+
+	private TestHistory(Configuration config) {
+		this.file = Paths.get(config.getString("history.file",
+				Paths.get(config.getString("artifacts.dir", "./src/test/resources/ScreenShots"), "test-history.tsv")
+						.toString()));
+		load();
+	}
+
+	/**
+	 * @return The shared history, loaded from disk on first use
+	 */
+	public static TestHistory get() {
+		return Holder.INSTANCE;
+	}
+
+	/**
+	 * @return Location of the history file
+	 */
+	public Path getFile() {
+		return file;
+	}
+
+	/**
+	 * @param method A test method
+	 * @return What earlier runs recorded for it, or null if it never ran
+	 */
+	public Entry find(ITestNGMethod method) {
+		return entries.get(method.getQualifiedName());
+	}
+
+	/**
+	 * Adds a finished invocation to the current run. Skipped invocations are
+	 * not counted.
+	 *
+	 * @param result The invocation's result
+	 */
+	public void record(ITestResult result) {
+		if (result.getStatus() == ITestResult.SKIP) {
+			return;
+		}
+		RunTotals totals = current.computeIfAbsent(result.getMethod().getQualifiedName(), name -> new RunTotals());
+		totals.millis.add(Math.max(0, result.getEndMillis() - result.getStartMillis()));
+		if (!result.isSuccess()) {
+			totals.failed = true;
+		}
+	}
+
+	/**
+	 * Folds the methods recorded since the last save into the history and
+	 * writes it to disk. Methods that did not run keep their entries.
+	 */
+	public synchronized void save() {
+		for (String name : current.keySet()) {
+			RunTotals totals = current.remove(name);
+			long millis = totals.millis.sum();
+			Entry previous = entries.get(name);
+			Entry next;
+			if (previous == null) {
+				next = new Entry(millis, 1, totals.failed ? 0 : -1);
+			} else {
+				int sinceFailure = totals.failed ? 0
+						: previous.runsSinceFailure < 0 ? -1 : previous.runsSinceFailure + 1;
+				next = new Entry(Math.round(SMOOTHING * millis + (1 - SMOOTHING) * previous.averageMillis),
+						previous.runs + 1, sinceFailure);
+			}
+			entries.put(name, next);
+		}
+
+		try {
+			Files.createDirectories(file.toAbsolutePath().getParent());
+			Path temp = Files.createTempFile(file.toAbsolutePath().getParent(), "test-history", ".tmp");
+			try (Writer out = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+				out.write("# method\taverageMillis\truns\trunsSinceFailure\n");
+				for (Map.Entry<String, Entry> entry : new TreeMap<>(entries).entrySet()) {
+					Entry value = entry.getValue();
+					out.write(entry.getKey() + "\t" + value.averageMillis + "\t" + value.runs + "\t"
+							+ value.runsSinceFailure + "\n");
+				}
+			}
+			Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		} catch (IOException e) {
+			System.out.println("Test history not saved: " + e.getMessage());
+		}
+	}
+
+	private void load() {
+		if (!Files.isReadable(file)) {
+			return;
+		}
+		try {
+			for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+				if (line.isEmpty() || line.startsWith("#")) {
+					continue;
+				}
+				String[] fields = line.split("\t");
+				try {
+					entries.put(fields[0], new Entry(Long.parseLong(fields[1]), Integer.parseInt(fields[2]),
+							Integer.parseInt(fields[3])));
+				} catch (RuntimeException e) {
+					System.out.println("Ignoring test history line: " + line);
+				}
+			}
+		} catch (IOException e) {
+			System.out.println("Test history not loaded: " + e.getMessage());
+		}
+	}
+}
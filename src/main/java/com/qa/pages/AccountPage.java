@@ -3,27 +3,27 @@ package com.qa.pages;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.FindBy;
-import org.openqa.selenium.support.PageFactory;
 
 import com.qa.base.BasePage;
+import com.qa.base.PageInitializer;
 import com.qa.interactions.PageInteraction;
 
 public class AccountPage extends BasePage {
 
 	/**
-	 * Constructor to initialize the WebDriver and PageFactory elements.
+	 * Constructor to initialize the WebDriver and the page's elements.
 	 *
 	 * @param driver WebDriver instance to be used by the page object.
 	 */
 	public AccountPage(WebDriver driver) {
 		super(driver);
-		PageFactory.initElements(driver, this);
+		PageInitializer.initElements(driver, this);
 	}
 
 	/**
-	 * PageInteraction instance for interacting with web elements.
+	 * Shared PageInteraction instance for interacting with web elements.
 	 */
-	PageInteraction interaction = new PageInteraction(driver);
+	PageInteraction interaction = PageInteraction.of(driver);
 
 	// Web Elements
 
@@ -47,7 +47,6 @@ public class AccountPage extends BasePage {
 	 * @return true if the newsletter checkbox is selected, false otherwise
 	 */
 	public boolean IsNewsLetterSubscribed() {
-		interaction.implicitWait(10);
 		interaction.verifyPageNavigation("account/account");
 		interaction.clickElement(subsNewsLetterOption);
 		interaction.verifyPageNavigation("account/newsletter");
@@ -1,33 +1,36 @@
 package com.qa.pages;
 
+import java.util.ArrayList;
 import java.util.List;
 
 import org.openqa.selenium.Keys;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.FindBy;
-import org.openqa.selenium.support.PageFactory;
 import org.testng.Assert;
 
 import com.qa.base.BasePage;
+import com.qa.base.CacheElements;
+import com.qa.base.PageInitializer;
 import com.qa.interactions.PageInteraction;
 
+@CacheElements
 public class HomePage extends BasePage {
 
 	/**
-	 * Constructor to initialize the WebDriver and PageFactory elements.
+	 * Constructor to initialize the WebDriver and the page's elements.
 	 *
 	 * @param driver WebDriver instance to be used by the page object.
 	 */
 	public HomePage(WebDriver driver) {
 		super(driver);
-		PageFactory.initElements(driver, this);
+		PageInitializer.initElements(driver, this);
 	}
 
 	/**
-	 * PageInteraction instance for interacting with web elements.
+	 * Shared PageInteraction instance for interacting with web elements.
 	 */
-	PageInteraction interaction = new PageInteraction(driver);
+	PageInteraction interaction = PageInteraction.of(driver);
 
 	// Web Elements
 
@@ -87,7 +90,11 @@ public class HomePage extends BasePage {
 	public HomePage EnterProductName(String productName) {
 		interaction.inputText(searchBox, productName, Keys.ENTER);
 		interaction.clickElement(searchBtn);
-		interaction.explicitWait(productNameList.get(0), 10);
+		// The home page's featured products use the same markup as the results,
+		// so wait for the search page before looking at either
+		interaction.verifyPageNavigation("route=product/search");
+		// Then for whichever renders first: the results or the "no product" message
+		interaction.waitUntil(d -> !productNameList.isEmpty() || productNameMismatch.isDisplayed());
 		return this;
 	}
 
@@ -98,26 +105,11 @@ public class HomePage extends BasePage {
 	 * @return The WebElement representing the found product, or null if not found
 	 */
 	public WebElement SearchProduct(String productName) {
-		WebElement ele = null;
-
-		interaction.implicitWait(10);
 		EnterProductName(productName);
 
-		if (productNameList.size() != 0) {
-			interaction.explicitWait(productNameList.get(productNameList.size() - 1), 10);
-		} else {
-			return ele;
-		}
-
-		for (WebElement element : productNameList) {
-			String name = element.getText();
-			if (name.toLowerCase().contains(productName.toLowerCase())) {
-				ele = element;
-				break;
-			}
-		}
-
-		return ele;
+		// Resolve the result list once and match all names in a single script call
+		List<WebElement> products = new ArrayList<>(productNameList);
+		return interaction.findElementContainingText(products, productName);
 	}
 
 	/**
@@ -126,16 +118,11 @@ public class HomePage extends BasePage {
 	 * @param productName The name of the product to check
 	 */
 	public void checkIfProductExists(String productName) {
-		interaction.implicitWait(10);
 		WebElement element = SearchProduct(productName);
 
 		if (element == null) {
-			interaction.explicitWait(productNameMismatch, 10);
-
-			if (interaction.isElementVisible(productNameMismatch)) {
-				interaction.compareText(productNameMismatch.getText(),
-						"There is no product that matches the search criteria.");
-			}
+			interaction.compareText(interaction.getElementText(productNameMismatch),
+					"There is no product that matches the search criteria.");
 		} else {
 			Assert.fail("The specified product exists...!!");
 		}
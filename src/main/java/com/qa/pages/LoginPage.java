@@ -3,27 +3,29 @@ package com.qa.pages;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.FindBy;
-import org.openqa.selenium.support.PageFactory;
 
 import com.qa.base.BasePage;
+import com.qa.base.CacheElements;
+import com.qa.base.PageInitializer;
 import com.qa.interactions.PageInteraction;
 
+@CacheElements
 public class LoginPage extends BasePage {
 
 	/**
-	 * Constructor to initialize the WebDriver and PageFactory elements.
+	 * Constructor to initialize the WebDriver and the page's elements.
 	 *
 	 * @param driver WebDriver instance to be used by the page object.
 	 */
 	public LoginPage(WebDriver driver) {
 		super(driver);
-		PageFactory.initElements(driver, this);
+		PageInitializer.initElements(driver, this);
 	}
 
 	/**
-	 * PageInteraction instance for interacting with web elements.
+	 * Shared PageInteraction instance for interacting with web elements.
 	 */
-	PageInteraction interaction = new PageInteraction(driver);
+	PageInteraction interaction = PageInteraction.of(driver);
 
 	// Web Elements
 
@@ -36,7 +38,7 @@ public class LoginPage extends BasePage {
 	@FindBy(xpath = "//h2[normalize-space()='My Account']")
 	private WebElement loginTextMsg;
 
-	@FindBy(xpath = "//dirv[@class='alert alert-danger alert-dismissible']")
+	@FindBy(xpath = "//div[@class='alert alert-danger alert-dismissible']")
 	private WebElement inValidLoginCredsAlert;
 
 	@FindBy(xpath = "//button[normalize-space()='Login']")
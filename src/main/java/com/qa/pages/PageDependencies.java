@@ -1,14 +1,15 @@
 package com.qa.pages;
 
 import org.openqa.selenium.WebDriver;
-import org.openqa.selenium.support.PageFactory;
 
 import com.qa.base.BasePage;
+import com.qa.session.SessionCache;
 
 public class PageDependencies extends BasePage {
 
 	/**
-	 * Page objects for different pages in the application.
+	 * Page objects for different pages in the application, created on first
+	 * access.
 	 */
 	private AccountPage accountPage;
 	private HomePage homePage;
@@ -16,17 +17,13 @@ public class PageDependencies extends BasePage {
 	private RegisterPage registerPage;
 
 	/**
-	 * Constructor to initialize page objects.
+	 * Constructor for PageDependencies. Page objects are built lazily by their
+	 * accessors and memoized for this driver.
 	 *
 	 * @param driver WebDriver instance to be used by the page objects.
 	 */
 	public PageDependencies(WebDriver driver) {
 		super(driver);
-		this.accountPage = new AccountPage(driver);
-		this.homePage = new HomePage(driver);
-		this.loginPage = new LoginPage(driver);
-		this.registerPage = new RegisterPage(driver);
-		PageFactory.initElements(driver, this);
 	}
 
 	/**
@@ -35,6 +32,9 @@ public class PageDependencies extends BasePage {
 	 * @return The AccountPage object
 	 */
 	public AccountPage accountPage() {
+		if (accountPage == null) {
+			accountPage = new AccountPage(driver);
+		}
 		return accountPage;
 	}
 
@@ -44,6 +44,9 @@ public class PageDependencies extends BasePage {
 	 * @return The HomePage object
 	 */
 	public HomePage homePage() {
+		if (homePage == null) {
+			homePage = new HomePage(driver);
+		}
 		return homePage;
 	}
 
@@ -53,6 +56,9 @@ public class PageDependencies extends BasePage {
 	 * @return The LoginPage object
 	 */
 	public LoginPage LoginPage() {
+		if (loginPage == null) {
+			loginPage = new LoginPage(driver);
+		}
 		return loginPage;
 	}
 
@@ -62,6 +68,26 @@ public class PageDependencies extends BasePage {
 	 * @return The RegisterPage object
 	 */
 	public RegisterPage RegisterPage() {
+		if (registerPage == null) {
+			registerPage = new RegisterPage(driver);
+		}
 		return registerPage;
 	}
+
+	/**
+	 * Provides the AccountPage of a signed-in user. The user's cached session is
+	 * restored when possible, otherwise the user logs in through the login page.
+	 *
+	 * @param email    The email address of the user
+	 * @param password The password of the user
+	 * @return The AccountPage object
+	 */
+	public AccountPage signedInAccountPage(String email, String password) {
+		SessionCache.get().signIn(driver, email, () -> homePage()
+			.NavigateToLoginPage()
+			.EnterLoginDetails(email, password)
+			.ClickOnLoginButton()
+			.ConfirmSuccessfulLogin());
+		return accountPage();
+	}
 }
@@ -3,30 +3,30 @@ package com.qa.pages;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.FindBy;
-import org.openqa.selenium.support.PageFactory;
 import org.testng.Assert;
 
 import com.qa.base.BasePage;
+import com.qa.base.CacheElements;
+import com.qa.base.PageInitializer;
+import com.qa.data.UserPool;
+import com.qa.data.UserRecord;
 import com.qa.interactions.PageInteraction;
-import com.qa.utility.DataGenerator;
 
+@CacheElements
 public class RegisterPage extends BasePage {
 
 	/**
-	 * Constructor to initialize the WebDriver and PageFactory elements.
+	 * Constructor to initialize the WebDriver and the page's elements.
 	 *
 	 * @param driver WebDriver instance to be used by the page object.
 	 */
 	public RegisterPage(WebDriver driver) {
 		super(driver);
-		PageFactory.initElements(driver, this);
+		PageInitializer.initElements(driver, this);
 	}
 
-	/* PageInteraction instance for interacting with web elements. */
-	PageInteraction interaction = new PageInteraction(driver);
-
-	/* DataGenerator instance for generating random data. */
-	DataGenerator data = new DataGenerator();
+	/* Shared PageInteraction instance for interacting with web elements. */
+	PageInteraction interaction = PageInteraction.of(driver);
 
 	// Web Elements
 
@@ -60,7 +60,7 @@ public class RegisterPage extends BasePage {
 	@FindBy(xpath = "//input[@name='agree']")
 	private WebElement privacyPolicyCheckBox;
 
-	@FindBy(xpath = "//dirv[@class='alert alert-danger alert-dismissible']")
+	@FindBy(xpath = "//div[@class='alert alert-danger alert-dismissible']")
 	private WebElement privacyPolicyAlert;
 
 	@FindBy(css = "button[type='submit']")
@@ -79,15 +79,17 @@ public class RegisterPage extends BasePage {
 	// Methods
 
 	/**
-	 * Enters user details into the registration form.
+	 * Enters the details of a fresh user from the {@link UserPool} into the
+	 * registration form.
 	 *
 	 * @return The current RegisterPage instance
 	 */
 	public RegisterPage EnterUserDetails() {
-		interaction.inputText(firstNameTextBox, "Test");
-		interaction.inputText(lastNameTextBox, "User");
-		interaction.inputText(emailTextBox, data.generateRandomEmail());
-		interaction.inputText(passwordTextBox, "Test@12345");
+		UserRecord user = UserPool.get().take();
+		interaction.inputText(firstNameTextBox, user.getFirstName());
+		interaction.inputText(lastNameTextBox, user.getLastName());
+		interaction.inputText(emailTextBox, user.getEmail());
+		interaction.inputText(passwordTextBox, user.getPassword());
 		return this;
 	}
 
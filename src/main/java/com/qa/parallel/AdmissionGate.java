@@ -0,0 +1,39 @@
+package com.qa.parallel;
+
+import java.util.concurrent.Semaphore;
+
+/**
+ * Semaphore whose number of permits can be changed while threads hold and
+ * wait for them. Lowering the limit takes effect as holders release.
+ */
+final class AdmissionGate extends Semaphore {
+
+	private static final long serialVersionUID = 1L;
+
+	private int limit;
+
+	AdmissionGate(int limit) {
+		super(limit, true);
+		this.limit = limit;
+	}
+
+	/**
+	 * @return The current number of permits, held or free
+	 */
+	synchronized int getLimit() {
+		return limit;
+	}
+
+	/**
+	 * @param newLimit New number of permits, at least 1
+	 */
+	synchronized void setLimit(int newLimit) {
+		int delta = newLimit - limit;
+		if (delta > 0) {
+			release(delta);
+		} else if (delta < 0) {
+			reducePermits(-delta);
+		}
+		limit = newLimit;
+	}
+}
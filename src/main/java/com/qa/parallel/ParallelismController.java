@@ -0,0 +1,191 @@
+package com.qa.parallel;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.IntConsumer;
+
+import com.qa.config.Configuration;
+
+/**
+ * Adjusts how many tests run at once to what the machine can take, instead of
+ * a fixed thread count.
+ *
+ * TestNG's pools are sized once, to {@link #getMaxWorkers()}: the most
+ * browsers that fit in the available memory (less "parallel.memoryReserveMb")
+ * at "parallel.browserMemoryMb" each, at most two per core and at most
+ * "parallel.maxWorkers". Each test is then admitted through a gate whose
+ * limit starts at the number of cores and is re-evaluated every
+ * "parallel.sampleInterval": it drops when memory runs short or the CPU is
+ * saturated, and rises by one while tests are waiting and there is room for
+ * another browser. Browser memory is measured from the JVM's child processes
+ * where the platform allows, and available memory respects a container's
+ * memory limit.
+ *
+ * The controller only gates tests once {@link #start()} is called, which the
+ * AdaptiveParallelismListener does; "parallel.adaptive=false" switches it off.
+ */
+public final class ParallelismController {
+
+	private static final class Holder {
+		private static final ParallelismController INSTANCE = new ParallelismController(Configuration.get());
+	}
+
+	private static final long MB = 1024L * 1024L;
+
+	private final ResourceMonitor monitor = new ResourceMonitor();
+	private final boolean enabled;
+	private final int minWorkers;
+	private final int maxWorkers;
+	private final long browserMemory;
+	private final long memoryReserve;
+	private final Duration interval;
+	private final AdmissionGate gate;
+	private final AtomicInteger active = new AtomicInteger();
+	private final AtomicBoolean started = new AtomicBoolean();
+	private final ThreadLocal<Boolean> admitted = new ThreadLocal<>();
+	private final List<IntConsumer> limitListeners = new CopyOnWriteArrayList<>();
+	private volatile boolean running;
+
+	private ParallelismController(Configuration config) {
+		this.enabled = config.getBoolean("parallel.adaptive", true);
+		this.browserMemory = config.getLong("parallel.browserMemoryMb", 400) * MB;
+		this.memoryReserve = config.getLong("parallel.memoryReserveMb", 1024) * MB;
+		this.interval = config.getDuration("parallel.sampleInterval", Duration.ofSeconds(2));
+		this.minWorkers = Math.max(1, config.getInt("parallel.minWorkers", 1));
+
+		int cores = Runtime.getRuntime().availableProcessors();
+		ResourceMonitor.Sample sample = monitor.sample();
+		long byMemory = Math.max(1, (sample.availableBytes - memoryReserve) / browserMemory);
+		int upperBound = Math.max(minWorkers, config.getInt("parallel.maxWorkers", 16));
+		this.maxWorkers = clamp((int) Math.min(byMemory, cores * 2L), minWorkers, upperBound);
+		this.gate = new AdmissionGate(clamp(cores, minWorkers, maxWorkers));
+	}
+
+	/**
+	 * @return The shared controller
+	 */
+	public static ParallelismController get() {
+		return Holder.INSTANCE;
+	}
+
+	/**
+	 * @return Upper bound for TestNG's thread counts in this run
+	 */
+	public int getMaxWorkers() {
+		return maxWorkers;
+	}
+
+	/**
+	 * @return true once {@link #start()} has switched the gate on
+	 */
+	public boolean isRunning() {
+		return running;
+	}
+
+	/**
+	 * @return Number of tests currently allowed to run at once
+	 */
+	public int getLimit() {
+		return gate.getLimit();
+	}
+
+	/**
+	 * @return Number of tests currently admitted
+	 */
+	public int getActive() {
+		return active.get();
+	}
+
+	/**
+	 * Starts gating tests and sampling resources. Calls after the first have no
+	 * effect.
+	 */
+	public void start() {
+		if (!enabled || !started.compareAndSet(false, true)) {
+			return;
+		}
+		running = true;
+		Thread sampler = new Thread(this::sample, "parallelism-controller");
+		sampler.setDaemon(true);
+		sampler.start();
+	}
+
+	/**
+	 * Blocks until the calling test may run. No-op until {@link #start()}.
+	 */
+	public void admit() {
+		if (running && admitted.get() == null) {
+			gate.acquireUninterruptibly();
+			active.incrementAndGet();
+			admitted.set(Boolean.TRUE);
+		}
+	}
+
+	/**
+	 * Hands back the calling test's admission, if it has one.
+	 */
+	public void leave() {
+		if (admitted.get() != null) {
+			admitted.remove();
+			active.decrementAndGet();
+			gate.release();
+		}
+	}
+
+	/**
+	 * @param listener Called with the new limit whenever it changes, e.g. to
+	 *                 quit idle browsers after a decrease
+	 */
+	public void addLimitListener(IntConsumer listener) {
+		limitListeners.add(listener);
+	}
+
+	private void sample() {
+		while (running) {
+			LockSupport.parkNanos(this, interval.toNanos());
+			try {
+				adjust(monitor.sample());
+			} catch (RuntimeException e) {
+				System.out.println("Parallelism not adjusted: " + e.getMessage());
+			}
+		}
+	}
+
+	private void adjust(ResourceMonitor.Sample sample) {
+		// Idle pooled browsers and the drivers count too, so divide by browsers, not tests
+		long perBrowser = sample.browsers > 0 && sample.childRssBytes > 0 ? sample.childRssBytes / sample.browsers
+				: browserMemory;
+		long headroom = sample.availableBytes - memoryReserve;
+		int limit = gate.getLimit();
+
+		int target = limit;
+		if (headroom < 0) {
+			// Shed as many browsers as the shortfall needs, not just one
+			target = limit - (int) Math.max(1, (-headroom + perBrowser - 1) / perBrowser);
+		} else if (sample.cpuLoad > 0.9) {
+			target = limit - 1;
+		} else if (gate.hasQueuedThreads() && headroom > perBrowser && sample.cpuLoad < 0.75) {
+			target = limit + 1;
+		}
+		target = clamp(target, minWorkers, maxWorkers);
+		if (target == limit) {
+			return;
+		}
+
+		gate.setLimit(target);
+		System.out.println("Parallelism " + limit + " -> " + target + " (available "
+				+ sample.availableBytes / MB + " MB, per browser " + perBrowser / MB + " MB, cpu "
+				+ (sample.cpuLoad < 0 ? "n/a" : Math.round(sample.cpuLoad * 100) + "%") + ")");
+		for (IntConsumer listener : limitListeners) {
+			listener.accept(target);
+		}
+	}
+
+	private static int clamp(int value, int min, int max) {
+		return Math.max(min, Math.min(max, value));
+	}
+}
@@ -0,0 +1,184 @@
+package com.qa.parallel;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Samples the machine's available memory, CPU load and the resident memory of
+ * the browsers and drivers this JVM launched.
+ *
+ * On Linux memory figures come from /proc, which counts reclaimable caches as
+ * available and sees every child process. When the JVM runs in a cgroup with a
+ * memory limit, as in most CI containers, what is left under the limit caps
+ * the available memory, since /proc/meminfo reports the host's. Elsewhere the
+ * JVM's operating system bean is used and browser memory is not measured.
+ */
+final class ResourceMonitor {
+
+	private static final Path MEMINFO = Paths.get("/proc/meminfo");
+	private static final Path CGROUPS = Paths.get("/proc/self/cgroup");
+	private static final Path CGROUP_ROOT = Paths.get("/sys/fs/cgroup");
+
+	/**
+	 * One set of readings.
+	 */
+	static final class Sample {
+		final long availableBytes;
+		final long totalBytes;
+		final double cpuLoad;
+		final long childRssBytes;
+		final int browsers;
+
+		private Sample(long availableBytes, long totalBytes, double cpuLoad, long childRssBytes, int browsers) {
+			this.availableBytes = availableBytes;
+			this.totalBytes = totalBytes;
+			this.cpuLoad = cpuLoad;
+			this.childRssBytes = childRssBytes;
+			this.browsers = browsers;
+		}
+	}
+
+	private final com.sun.management.OperatingSystemMXBean os = (com.sun.management.OperatingSystemMXBean) ManagementFactory
+			.getOperatingSystemMXBean();
+
+	/**
+	 * @return Current readings; cpuLoad is between 0 and 1, or negative if
+	 *         unknown, childRssBytes is 0 if unknown, and browsers counts the
+	 *         processes the JVM's driver processes started
+	 */
+	@SuppressWarnings("deprecation")
+	Sample sample() {
+		long total = os.getTotalPhysicalMemorySize();
+		long available = os.getFreePhysicalMemorySize();
+		long rss = 0;
+		int browsers = 0;
+		if (Files.isReadable(MEMINFO)) {
+			available = memAvailable(available);
+			long[] limit = cgroupMemory();
+			if (limit != null) {
+				total = Math.min(total, limit[0]);
+				available = Math.min(available, Math.max(0, limit[0] - limit[1]));
+			}
+			rss = ProcessHandle.current().descendants().mapToLong(process -> rss(process.pid())).sum();
+			// Drivers are the JVM's children and browsers the drivers' children
+			browsers = (int) ProcessHandle.current().children().mapToLong(driver -> driver.children().count()).sum();
+		}
+		return new Sample(available, total, os.getSystemCpuLoad(), rss, browsers);
+	}
+
+	private static long memAvailable(long fallback) {
+		try {
+			for (String line : Files.readAllLines(MEMINFO, StandardCharsets.US_ASCII)) {
+				if (line.startsWith("MemAvailable:")) {
+					return kilobytes(line);
+				}
+			}
+		} catch (IOException e) {
+			// Fall back to the bean's free memory
+		}
+		return fallback;
+	}
+
+	/**
+	 * Reads the memory limit of the JVM's cgroup (v2 memory.max, or v1
+	 * memory.limit_in_bytes) and its usage without reclaimable file cache, the
+	 * figure the kernel compares with the limit before it kills processes.
+	 *
+	 * @return The limit and the usage in bytes, or null if there is no limit
+	 */
+	private static long[] cgroupMemory() {
+		try {
+			Path v2 = cgroupDirectory("", "memory.max");
+			if (v2 != null) {
+				String max = read(v2.resolve("memory.max"));
+				if (max.equals("max")) {
+					return null;
+				}
+				return new long[] { Long.parseLong(max),
+						workingSet(read(v2.resolve("memory.current")), v2, "inactive_file") };
+			}
+			Path v1 = cgroupDirectory("memory", "memory.limit_in_bytes");
+			if (v1 != null) {
+				long limit = Long.parseLong(read(v1.resolve("memory.limit_in_bytes")));
+				// An unlimited v1 group reports a value near Long.MAX_VALUE
+				if (limit >= Long.MAX_VALUE / 2) {
+					return null;
+				}
+				return new long[] { limit,
+						workingSet(read(v1.resolve("memory.usage_in_bytes")), v1, "total_inactive_file") };
+			}
+		} catch (IOException | RuntimeException e) {
+			// No readable cgroup limit; /proc/meminfo alone decides
+		}
+		return null;
+	}
+
+	/**
+	 * @param controller "" for the unified (v2) hierarchy, else the v1
+	 *                   controller
+	 * @param file       A file the controller's group directory contains
+	 * @return The JVM's group directory, the hierarchy's root if the group is
+	 *         not visible (as inside a container's namespace), or null
+	 */
+	private static Path cgroupDirectory(String controller, String file) throws IOException {
+		Path mount = controller.isEmpty() ? CGROUP_ROOT : CGROUP_ROOT.resolve(controller);
+		if (!Files.isReadable(CGROUPS)) {
+			return null;
+		}
+		for (String line : Files.readAllLines(CGROUPS, StandardCharsets.US_ASCII)) {
+			// "hierarchy-id:controllers:path"; v2 is "0::path"
+			String[] fields = line.split(":", 3);
+			if (fields.length == 3 && (controller.isEmpty() ? fields[0].equals("0") && fields[1].isEmpty()
+					: Arrays.asList(fields[1].split(",")).contains(controller))) {
+				Path group = mount.resolve(fields[2].replaceFirst("^/", ""));
+				if (Files.isReadable(group.resolve(file))) {
+					return group;
+				}
+				return Files.isReadable(mount.resolve(file)) ? mount : null;
+			}
+		}
+		return null;
+	}
+
+	private static long workingSet(String usage, Path group, String inactiveKey) throws IOException {
+		long inactive = 0;
+		for (String line : Files.readAllLines(group.resolve("memory.stat"), StandardCharsets.US_ASCII)) {
+			if (line.startsWith(inactiveKey + " ")) {
+				inactive = Long.parseLong(line.substring(inactiveKey.length() + 1).trim());
+			}
+		}
+		return Math.max(0, Long.parseLong(usage) - inactive);
+	}
+
+	private static String read(Path file) throws IOException {
+		return new String(Files.readAllBytes(file), StandardCharsets.US_ASCII).trim();
+	}
+
+	private static long rss(long pid) {
+		try {
+			List<String> status = Files.readAllLines(Paths.get("/proc", Long.toString(pid), "status"),
+					StandardCharsets.US_ASCII);
+			for (String line : status) {
+				if (line.startsWith("VmRSS:")) {
+					return kilobytes(line);
+				}
+			}
+		} catch (IOException e) {
+			// The process exited between listing and reading
+		}
+		return 0;
+	}
+
+	/* Parses "Name:   1234 kB". */
+	private static long kilobytes(String line) {
+		String value = line.substring(line.indexOf(':') + 1).trim();
+		int space = value.indexOf(' ');
+		return Long.parseLong(space < 0 ? value : value.substring(0, space)) * 1024;
+	}
+}
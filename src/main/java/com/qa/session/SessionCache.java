@@ -0,0 +1,168 @@
+package com.qa.session;
+
+import java.net.URI;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.openqa.selenium.Cookie;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+
+import com.qa.config.Configuration;
+
+/**
+ * Cache of authenticated sessions, so tests that only need a signed-in user
+ * log in through the UI once per user and run instead from a restored
+ * {@link SessionSnapshot}.
+ *
+ * A snapshot expires after "session.ttl" (20 minutes by default) or with its
+ * earliest expiring cookie, whichever comes first. A restore that does not
+ * land back on the captured page (e.g. because the server ended the session)
+ * discards the snapshot and falls back to a fresh UI login. Drivers restored
+ * from one snapshot share the server-side session, so a test that logs out
+ * should {@link #invalidate(String)} its user. Set "session.cache.enabled" to
+ * false to always log in through the UI.
+ */
+public final class SessionCache {
+
+	private static final class Holder {
+		private static final SessionCache INSTANCE = new SessionCache(Configuration.get());
+	}
+
+	private static final String READ_STORAGE = "function read(storage) {"
+			+ " var values = {};"
+			+ " for (var i = 0; i < storage.length; i++) { values[storage.key(i)] = storage.getItem(storage.key(i)); }"
+			+ " return values; }"
+			+ "return [read(window.localStorage), read(window.sessionStorage)];";
+
+	private static final String WRITE_STORAGE = "var local = arguments[0], session = arguments[1];"
+			+ "for (var key in local) { window.localStorage.setItem(key, local[key]); }"
+			+ "for (var key in session) { window.sessionStorage.setItem(key, session[key]); }";
+
+	private final boolean enabled;
+	private final Duration ttl;
+	private final Map<String, SessionSnapshot> snapshots = new ConcurrentHashMap<>();
+	private final Map<String, Object> locks = new ConcurrentHashMap<>();
+
+	private SessionCache(Configuration config) {
+		this.enabled = config.getBoolean("session.cache.enabled", true);
+		this.ttl = config.getDuration("session.ttl", Duration.ofMinutes(20));
+	}
+
+	/**
+	 * @return The shared session cache
+	 */
+	public static SessionCache get() {
+		return Holder.INSTANCE;
+	}
+
+	/**
+	 * Signs a driver in as a user, restoring the user's snapshot if there is a
+	 * valid one and otherwise running the UI login and capturing its result.
+	 * Concurrent callers for the same user wait for a single UI login.
+	 *
+	 * @param driver The driver to sign in
+	 * @param user   Key of the user, e.g. the email address
+	 * @param login  UI login for the driver, ending on the signed-in page
+	 * @return true if the session was restored, false if the UI login ran
+	 */
+	public boolean signIn(WebDriver driver, String user, Runnable login) {
+		if (!enabled) {
+			login.run();
+			return false;
+		}
+		SessionSnapshot snapshot = snapshots.get(user);
+		if (snapshot != null && snapshot.isValidAt(Instant.now()) && restore(driver, snapshot)) {
+			return true;
+		}
+		synchronized (locks.computeIfAbsent(user, key -> new Object())) {
+			// Another thread may have logged the user in while this one waited
+			SessionSnapshot current = snapshots.get(user);
+			if (current != null && current != snapshot && current.isValidAt(Instant.now())
+					&& restore(driver, current)) {
+				return true;
+			}
+			snapshots.remove(user);
+			driver.manage().deleteAllCookies();
+			login.run();
+			snapshots.put(user, capture(driver));
+			return false;
+		}
+	}
+
+	/**
+	 * Discards a user's snapshot, e.g. after the user logged out or changed the
+	 * password.
+	 *
+	 * @param user Key of the user
+	 */
+	public void invalidate(String user) {
+		snapshots.remove(user);
+	}
+
+	/**
+	 * Discards all snapshots.
+	 */
+	public void invalidateAll() {
+		snapshots.clear();
+	}
+
+	private SessionSnapshot capture(WebDriver driver) {
+		Set<Cookie> cookies = driver.manage().getCookies();
+		Map<String, String> local = Collections.emptyMap();
+		Map<String, String> session = Collections.emptyMap();
+		if (driver instanceof JavascriptExecutor) {
+			try {
+				List<?> storage = (List<?>) ((JavascriptExecutor) driver).executeScript(READ_STORAGE);
+				local = toStrings(storage.get(0));
+				session = toStrings(storage.get(1));
+			} catch (WebDriverException | ClassCastException e) {
+				// Storage is optional; cookies alone restore most sessions
+			}
+		}
+
+		Instant now = Instant.now();
+		Instant expiresAt = now.plus(ttl);
+		for (Cookie cookie : cookies) {
+			if (cookie.getExpiry() != null && cookie.getExpiry().toInstant().isBefore(expiresAt)) {
+				expiresAt = cookie.getExpiry().toInstant();
+			}
+		}
+		return new SessionSnapshot(driver.getCurrentUrl(), cookies, local, session, now, expiresAt);
+	}
+
+	private boolean restore(WebDriver driver, SessionSnapshot snapshot) {
+		try {
+			// Cookies and storage can only be set for the origin that is loaded
+			driver.get(URI.create(snapshot.getUrl()).resolve("/").toString());
+			driver.manage().deleteAllCookies();
+			for (Cookie cookie : snapshot.getCookies()) {
+				driver.manage().addCookie(cookie);
+			}
+			if (driver instanceof JavascriptExecutor
+					&& !(snapshot.getLocalStorage().isEmpty() && snapshot.getSessionStorage().isEmpty())) {
+				((JavascriptExecutor) driver).executeScript(WRITE_STORAGE, snapshot.getLocalStorage(),
+						snapshot.getSessionStorage());
+			}
+			driver.get(snapshot.getUrl());
+			return driver.getCurrentUrl().equals(snapshot.getUrl());
+		} catch (WebDriverException e) {
+			return false;
+		}
+	}
+
+	private static Map<String, String> toStrings(Object values) {
+		Map<String, String> strings = new LinkedHashMap<>();
+		for (Map.Entry<?, ?> entry : ((Map<?, ?>) values).entrySet()) {
+			strings.put(String.valueOf(entry.getKey()), String.valueOf(entry.getValue()));
+		}
+		return strings;
+	}
+}
@@ -0,0 +1,74 @@
+package com.qa.session;
+
+import java.time.Instant;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+import org.openqa.selenium.Cookie;
+
+/**
+ * Authenticated browser state captured after a UI login: the page reached,
+ * its cookies and the origin's local and session storage.
+ */
+public final class SessionSnapshot {
+
+	private final String url;
+	private final Set<Cookie> cookies;
+	private final Map<String, String> localStorage;
+	private final Map<String, String> sessionStorage;
+	private final Instant capturedAt;
+	private final Instant expiresAt;
+
+	/**
+	 * @param url            Page the login landed on
+	 * @param cookies        Cookies of that page
+	 * @param localStorage   Local storage of the origin
+	 * @param sessionStorage Session storage of the origin
+	 * @param capturedAt     Capture time
+	 * @param expiresAt      Time after which the snapshot must not be restored
+	 */
+	public SessionSnapshot(String url, Set<Cookie> cookies, Map<String, String> localStorage,
+			Map<String, String> sessionStorage, Instant capturedAt, Instant expiresAt) {
+		this.url = url;
+		this.cookies = Collections.unmodifiableSet(new LinkedHashSet<>(cookies));
+		this.localStorage = Collections.unmodifiableMap(new LinkedHashMap<>(localStorage));
+		this.sessionStorage = Collections.unmodifiableMap(new LinkedHashMap<>(sessionStorage));
+		this.capturedAt = capturedAt;
+		this.expiresAt = expiresAt;
+	}
+
+	public String getUrl() {
+		return url;
+	}
+
+	public Set<Cookie> getCookies() {
+		return cookies;
+	}
+
+	public Map<String, String> getLocalStorage() {
+		return localStorage;
+	}
+
+	public Map<String, String> getSessionStorage() {
+		return sessionStorage;
+	}
+
+	public Instant getCapturedAt() {
+		return capturedAt;
+	}
+
+	public Instant getExpiresAt() {
+		return expiresAt;
+	}
+
+	/**
+	 * @param now Current time
+	 * @return true if the snapshot has not expired at that time
+	 */
+	public boolean isValidAt(Instant now) {
+		return now.isBefore(expiresAt);
+	}
+}
@@ -0,0 +1,92 @@
+package com.qa.standin;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Loads the stand-in site's XHTML fixtures from the classpath
+ * ({@code standin/<name>.html}) and fills their placeholders.
+ *
+ * {@code {{key}}} is replaced with the escaped value and {@code {{{key}}}}
+ * with the raw value, for markup fragments. Missing keys render as empty
+ * strings.
+ */
+final class PageTemplates {
+
+	private static final Pattern PLACEHOLDER = Pattern.compile("\\{\\{(\\{?)(\\w+)\\}?\\}\\}");
+
+	private final Map<String, String> templates = new ConcurrentHashMap<>();
+
+	/**
+	 * Renders a template.
+	 *
+	 * @param name   Template name without the extension
+	 * @param values Placeholder values
+	 * @return The rendered markup
+	 */
+	String render(String name, Map<String, String> values) {
+		Matcher matcher = PLACEHOLDER.matcher(template(name));
+		StringBuilder out = new StringBuilder();
+		while (matcher.find()) {
+			String value = values.getOrDefault(matcher.group(2), "");
+			String replacement = matcher.group(1).isEmpty() ? escape(value) : value;
+			matcher.appendReplacement(out, Matcher.quoteReplacement(replacement));
+		}
+		matcher.appendTail(out);
+		return out.toString();
+	}
+
+	private String template(String name) {
+		return templates.computeIfAbsent(name, PageTemplates::load);
+	}
+
+	private static String load(String name) {
+		String resource = "standin/" + name + ".html";
+		try (InputStream in = PageTemplates.class.getClassLoader().getResourceAsStream(resource)) {
+			if (in == null) {
+				throw new IllegalStateException("Stand-in template not found: " + resource);
+			}
+			return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+		} catch (IOException e) {
+			throw new IllegalStateException("Stand-in template could not be read: " + e.getMessage());
+		}
+	}
+
+	/**
+	 * Escapes text for use in element content and attribute values.
+	 *
+	 * @param text The text to escape
+	 * @return The escaped text
+	 */
+	static String escape(String text) {
+		StringBuilder out = new StringBuilder(text.length());
+		for (int i = 0; i < text.length(); i++) {
+			char c = text.charAt(i);
+			switch (c) {
+			case '&':
+				out.append("&amp;");
+				break;
+			case '<':
+				out.append("&lt;");
+				break;
+			case '>':
+				out.append("&gt;");
+				break;
+			case '"':
+				out.append("&quot;");
+				break;
+			case '\'':
+				out.append("&#39;");
+				break;
+			default:
+				out.append(c);
+			}
+		}
+		return out.toString();
+	}
+}
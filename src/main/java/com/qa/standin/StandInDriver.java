@@ -0,0 +1,602 @@
+package com.qa.standin;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import javax.imageio.ImageIO;
+import javax.xml.parsers.DocumentBuilder;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.xpath.XPath;
+import javax.xml.xpath.XPathConstants;
+import javax.xml.xpath.XPathExpression;
+import javax.xml.xpath.XPathExpressionException;
+import javax.xml.xpath.XPathFactory;
+
+import org.openqa.selenium.Alert;
+import org.openqa.selenium.By;
+import org.openqa.selenium.Cookie;
+import org.openqa.selenium.Dimension;
+import org.openqa.selenium.InvalidSelectorException;
+import org.openqa.selenium.NoAlertPresentException;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.NoSuchFrameException;
+import org.openqa.selenium.NoSuchSessionException;
+import org.openqa.selenium.NoSuchWindowException;
+import org.openqa.selenium.OutputType;
+import org.openqa.selenium.Point;
+import org.openqa.selenium.SearchContext;
+import org.openqa.selenium.TakesScreenshot;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.WindowType;
+import org.openqa.selenium.logging.Logs;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+import org.w3c.dom.NodeList;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+
+import com.qa.standin.StandInSite.Response;
+
+/**
+ * In-process WebDriver backed by {@link StandInSite}.
+ *
+ * Navigation calls the site directly instead of going over the network, and
+ * the returned XHTML is parsed into a DOM that locators are evaluated against
+ * as XPath. Links navigate, submit buttons and Enter key presses submit their
+ * form, checkboxes and options toggle, and the session cookie is kept like a
+ * browser would. Elements from a previous page throw
+ * {@link org.openqa.selenium.StaleElementReferenceException}. There is no
+ * JavaScript, so the interaction layer uses its per-element paths.
+ *
+ * Selected with {@code browserName=fake}. Like a real session, an instance is
+ * meant to be used by one thread at a time.
+ */
+public class StandInDriver implements WebDriver, TakesScreenshot {
+
+	private static final String BLANK_PAGE = "<html><head><title></title></head><body></body></html>";
+
+	private static final int MAX_REDIRECTS = 10;
+
+	private static byte[] screenshot;
+
+	private final StandInSite site;
+	private final String windowHandle = UUID.randomUUID().toString();
+	private final Map<String, Cookie> cookies = new LinkedHashMap<>();
+	private final List<URI> history = new ArrayList<>();
+	private int historyIndex = -1;
+
+	private final DocumentBuilder parser;
+	private final XPath xpath = XPathFactory.newInstance().newXPath();
+	private final Map<String, XPathExpression> expressions = new HashMap<>();
+
+	private URI currentUrl;
+	private String pageSource;
+	private Document document;
+	private boolean closed;
+
+	private Dimension windowSize = new Dimension(1920, 1080);
+	private Point windowPosition = new Point(0, 0);
+
+	/**
+	 * Creates a driver for the given site, showing a blank page.
+	 *
+	 * @param site The site to browse
+	 */
+	public StandInDriver(StandInSite site) {
+		this.site = site;
+		try {
+			DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+			factory.setFeature("http://apache.org/xml/features/disallow-doctype-decl", true);
+			factory.setExpandEntityReferences(false);
+			this.parser = factory.newDocumentBuilder();
+		} catch (ParserConfigurationException e) {
+			throw new WebDriverException("XML parser unavailable: " + e.getMessage());
+		}
+		show(URI.create("about:blank"), BLANK_PAGE);
+	}
+
+	@Override
+	public void get(String url) {
+		ensureOpen();
+		URI target = parse(url);
+		load("GET", target, Collections.emptyMap());
+		remember();
+	}
+
+	@Override
+	public String getCurrentUrl() {
+		ensureOpen();
+		return currentUrl.toString();
+	}
+
+	@Override
+	public String getTitle() {
+		ensureOpen();
+		NodeList titles = document.getElementsByTagName("title");
+		return titles.getLength() == 0 ? "" : titles.item(0).getTextContent().trim();
+	}
+
+	@Override
+	public List<WebElement> findElements(By by) {
+		ensureOpen();
+		return find(document, this, by);
+	}
+
+	@Override
+	public WebElement findElement(By by) {
+		ensureOpen();
+		return first(findElements(by), by);
+	}
+
+	@Override
+	public String getPageSource() {
+		ensureOpen();
+		return pageSource;
+	}
+
+	@Override
+	public void close() {
+		closed = true;
+	}
+
+	@Override
+	public void quit() {
+		closed = true;
+	}
+
+	@Override
+	public Set<String> getWindowHandles() {
+		ensureOpen();
+		return Collections.singleton(windowHandle);
+	}
+
+	@Override
+	public String getWindowHandle() {
+		ensureOpen();
+		return windowHandle;
+	}
+
+	@Override
+	public TargetLocator switchTo() {
+		ensureOpen();
+		return new StandInTargetLocator();
+	}
+
+	@Override
+	public Navigation navigate() {
+		ensureOpen();
+		return new StandInNavigation();
+	}
+
+	@Override
+	public Options manage() {
+		ensureOpen();
+		return new StandInOptions();
+	}
+
+	@Override
+	public <X> X getScreenshotAs(OutputType<X> target) {
+		ensureOpen();
+		return target.convertFromPngBytes(blankScreenshot());
+	}
+
+	@Override
+	public String toString() {
+		return "StandInDriver (" + (closed ? "closed" : currentUrl) + ")";
+	}
+
+	/**
+	 * @return The document currently shown; elements of older documents are stale
+	 */
+	Document document() {
+		return document;
+	}
+
+	/**
+	 * Finds elements below a node of the current document.
+	 */
+	List<WebElement> find(Node context, SearchContext searchContext, By by) {
+		String expression = XPathLocators.toXPath(by);
+		if (expression == null) {
+			// Composite locators (chained, all) delegate back to the search context
+			return by.findElements(searchContext);
+		}
+		NodeList nodes;
+		try {
+			XPathExpression compiled = expressions.get(expression);
+			if (compiled == null) {
+				compiled = xpath.compile(expression);
+				expressions.put(expression, compiled);
+			}
+			nodes = (NodeList) compiled.evaluate(context, XPathConstants.NODESET);
+		} catch (XPathExpressionException e) {
+			throw new InvalidSelectorException("Invalid locator " + by + ": " + e.getMessage());
+		}
+		List<WebElement> elements = new ArrayList<>(nodes.getLength());
+		for (int i = 0; i < nodes.getLength(); i++) {
+			if (nodes.item(i) instanceof Element) {
+				elements.add(new StandInElement(this, (Element) nodes.item(i)));
+			}
+		}
+		return elements;
+	}
+
+	static WebElement first(List<WebElement> elements, By by) {
+		if (elements.isEmpty()) {
+			throw new NoSuchElementException("Unable to locate element: " + by);
+		}
+		return elements.get(0);
+	}
+
+	/**
+	 * Follows a link.
+	 *
+	 * @param href The link target, relative to the current page
+	 */
+	void follow(String href) {
+		load("GET", resolve(href), Collections.emptyMap());
+		remember();
+	}
+
+	/**
+	 * Submits a form the way a browser does: successful controls are encoded
+	 * into the query string for GET forms and sent as the body for POST forms.
+	 *
+	 * @param form      The form element
+	 * @param submitter The button that triggered the submission, or null
+	 */
+	void submit(Element form, Element submitter) {
+		Map<String, String> fields = new LinkedHashMap<>();
+		NodeList controls;
+		try {
+			controls = (NodeList) xpath.evaluate(".//input|.//select|.//textarea|.//button", form,
+					XPathConstants.NODESET);
+		} catch (XPathExpressionException e) {
+			throw new WebDriverException(e.getMessage());
+		}
+		for (int i = 0; i < controls.getLength(); i++) {
+			Element control = (Element) controls.item(i);
+			String name = control.getAttribute("name");
+			if (name.isEmpty() || control.hasAttribute("disabled")) {
+				continue;
+			}
+			String tag = control.getTagName().toLowerCase(Locale.ROOT);
+			String type = control.getAttribute("type").toLowerCase(Locale.ROOT);
+			if (tag.equals("button") || type.equals("submit") || type.equals("button") || type.equals("reset")) {
+				if (control == submitter) {
+					fields.putIfAbsent(name, control.getAttribute("value"));
+				}
+			} else if (type.equals("checkbox") || type.equals("radio")) {
+				if (control.hasAttribute("checked")) {
+					fields.putIfAbsent(name, control.hasAttribute("value") ? control.getAttribute("value") : "on");
+				}
+			} else if (tag.equals("select")) {
+				fields.putIfAbsent(name, StandInElement.selectedValue(control));
+			} else if (tag.equals("textarea")) {
+				fields.putIfAbsent(name, control.getTextContent());
+			} else {
+				fields.putIfAbsent(name, control.getAttribute("value"));
+			}
+		}
+
+		String method = form.getAttribute("method").isEmpty() ? "GET"
+				: form.getAttribute("method").toUpperCase(Locale.ROOT);
+		URI action = form.getAttribute("action").isEmpty() ? currentUrl : resolve(form.getAttribute("action"));
+		if (method.equals("POST")) {
+			load("POST", action, fields);
+		} else {
+			StringBuilder query = new StringBuilder();
+			for (Map.Entry<String, String> field : fields.entrySet()) {
+				query.append(query.length() == 0 ? "" : "&")
+						.append(URLEncoder.encode(field.getKey(), StandardCharsets.UTF_8)).append('=')
+						.append(URLEncoder.encode(field.getValue(), StandardCharsets.UTF_8));
+			}
+			String base = action.toString();
+			int question = base.indexOf('?');
+			URI target = URI.create((question < 0 ? base : base.substring(0, question)) + "?" + query);
+			load("GET", target, Collections.emptyMap());
+		}
+		remember();
+	}
+
+	/**
+	 * Requests a page from the site, following redirects, and shows it.
+	 */
+	private void load(String method, URI target, Map<String, String> form) {
+		URI uri = target;
+		for (int redirects = 0; redirects <= MAX_REDIRECTS; redirects++) {
+			if (uri.toString().equals("about:blank")) {
+				show(uri, BLANK_PAGE);
+				return;
+			}
+			if (!"http".equalsIgnoreCase(uri.getScheme()) && !"https".equalsIgnoreCase(uri.getScheme())) {
+				throw new WebDriverException("Unsupported URL: " + uri);
+			}
+			String path = uri.getRawPath() == null || uri.getRawPath().isEmpty() ? "/" : uri.getRawPath();
+			String requestTarget = uri.getRawQuery() == null ? path : path + "?" + uri.getRawQuery();
+			Cookie session = cookies.get(StandInSite.SESSION_COOKIE);
+
+			Response response = site.handle(new StandInSite.Request(method, requestTarget, form,
+					session == null ? null : session.getValue()));
+			cookies.put(StandInSite.SESSION_COOKIE,
+					new Cookie(StandInSite.SESSION_COOKIE, response.getSessionId(), uri.getHost(), "/", null));
+
+			if (response.getStatus() == 302) {
+				uri = uri.resolve(response.getLocation());
+				method = "GET";
+				form = Collections.emptyMap();
+				continue;
+			}
+			show(uri, response.getBody());
+			return;
+		}
+		throw new WebDriverException("Too many redirects loading " + target);
+	}
+
+	private void show(URI url, String source) {
+		try {
+			Document parsed = parser.parse(new InputSource(new StringReader(source)));
+			this.document = parsed;
+			this.pageSource = source;
+			this.currentUrl = url;
+		} catch (SAXException | IOException e) {
+			throw new WebDriverException("Page at " + url + " is not well-formed XHTML: " + e.getMessage());
+		}
+	}
+
+	private void remember() {
+		while (history.size() > historyIndex + 1) {
+			history.remove(history.size() - 1);
+		}
+		history.add(currentUrl);
+		historyIndex = history.size() - 1;
+	}
+
+	private URI resolve(String href) {
+		return currentUrl.isOpaque() ? parse(href) : currentUrl.resolve(href.trim());
+	}
+
+	private static URI parse(String url) {
+		try {
+			return new URI(url.trim());
+		} catch (URISyntaxException e) {
+			throw new WebDriverException("Invalid URL: " + url);
+		}
+	}
+
+	void ensureOpen() {
+		if (closed) {
+			throw new NoSuchSessionException("Stand-in session has been closed");
+		}
+	}
+
+	private static synchronized byte[] blankScreenshot() {
+		if (screenshot == null) {
+			BufferedImage image = new BufferedImage(320, 200, BufferedImage.TYPE_INT_RGB);
+			ByteArrayOutputStream out = new ByteArrayOutputStream();
+			try {
+				ImageIO.write(image, "png", out);
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+			screenshot = out.toByteArray();
+		}
+		return screenshot;
+	}
+
+	private final class StandInNavigation implements Navigation {
+
+		@Override
+		public void back() {
+			if (historyIndex > 0) {
+				historyIndex--;
+				load("GET", history.get(historyIndex), Collections.emptyMap());
+			}
+		}
+
+		@Override
+		public void forward() {
+			if (historyIndex < history.size() - 1) {
+				historyIndex++;
+				load("GET", history.get(historyIndex), Collections.emptyMap());
+			}
+		}
+
+		@Override
+		public void to(String url) {
+			get(url);
+		}
+
+		@Override
+		public void to(URL url) {
+			get(url.toString());
+		}
+
+		@Override
+		public void refresh() {
+			load("GET", currentUrl, Collections.emptyMap());
+		}
+	}
+
+	private final class StandInTargetLocator implements TargetLocator {
+
+		@Override
+		public WebDriver frame(int index) {
+			throw new NoSuchFrameException("Stand-in pages have no frames");
+		}
+
+		@Override
+		public WebDriver frame(String nameOrId) {
+			throw new NoSuchFrameException("Stand-in pages have no frames");
+		}
+
+		@Override
+		public WebDriver frame(WebElement frameElement) {
+			throw new NoSuchFrameException("Stand-in pages have no frames");
+		}
+
+		@Override
+		public WebDriver parentFrame() {
+			return StandInDriver.this;
+		}
+
+		@Override
+		public WebDriver window(String nameOrHandle) {
+			if (!windowHandle.equals(nameOrHandle)) {
+				throw new NoSuchWindowException("No window with handle " + nameOrHandle);
+			}
+			return StandInDriver.this;
+		}
+
+		@Override
+		public WebDriver newWindow(WindowType typeHint) {
+			throw new UnsupportedOperationException("Stand-in driver has a single window");
+		}
+
+		@Override
+		public WebDriver defaultContent() {
+			return StandInDriver.this;
+		}
+
+		@Override
+		public WebElement activeElement() {
+			return findElement(By.tagName("body"));
+		}
+
+		@Override
+		public Alert alert() {
+			throw new NoAlertPresentException("Stand-in pages raise no alerts");
+		}
+	}
+
+	private final class StandInOptions implements Options {
+
+		@Override
+		public void addCookie(Cookie cookie) {
+			cookies.put(cookie.getName(), cookie);
+		}
+
+		@Override
+		public void deleteCookieNamed(String name) {
+			cookies.remove(name);
+		}
+
+		@Override
+		public void deleteCookie(Cookie cookie) {
+			cookies.remove(cookie.getName());
+		}
+
+		@Override
+		public void deleteAllCookies() {
+			cookies.clear();
+		}
+
+		@Override
+		public Set<Cookie> getCookies() {
+			return new LinkedHashSet<>(cookies.values());
+		}
+
+		@Override
+		public Cookie getCookieNamed(String name) {
+			return cookies.get(name);
+		}
+
+		@Override
+		public Timeouts timeouts() {
+			return new StandInTimeouts();
+		}
+
+		@Override
+		public Window window() {
+			return new StandInWindow();
+		}
+
+		@Override
+		public Logs logs() {
+			throw new UnsupportedOperationException("Stand-in driver keeps no logs");
+		}
+	}
+
+	/**
+	 * Pages are complete as soon as they are returned, so timeouts are accepted
+	 * and ignored.
+	 */
+	private final class StandInTimeouts implements Timeouts {
+
+		@Override
+		@Deprecated
+		public Timeouts implicitlyWait(long time, TimeUnit unit) {
+			return this;
+		}
+
+		@Override
+		@Deprecated
+		public Timeouts setScriptTimeout(long time, TimeUnit unit) {
+			return this;
+		}
+
+		@Override
+		@Deprecated
+		public Timeouts pageLoadTimeout(long time, TimeUnit unit) {
+			return this;
+		}
+	}
+
+	private final class StandInWindow implements Window {
+
+		@Override
+		public Dimension getSize() {
+			return windowSize;
+		}
+
+		@Override
+		public void setSize(Dimension targetSize) {
+			windowSize = targetSize;
+		}
+
+		@Override
+		public Point getPosition() {
+			return windowPosition;
+		}
+
+		@Override
+		public void setPosition(Point targetPosition) {
+			windowPosition = targetPosition;
+		}
+
+		@Override
+		public void maximize() {
+		}
+
+		@Override
+		public void minimize() {
+		}
+
+		@Override
+		public void fullscreen() {
+		}
+	}
+}
@@ -0,0 +1,18 @@
+package com.qa.standin;
+
+import org.openqa.selenium.WebDriver;
+
+import com.qa.driver.BrowserProfile;
+import com.qa.driver.DriverFactory;
+
+/**
+ * Creates {@link StandInDriver} sessions on the shared {@link StandInSite}. No
+ * browser or driver binary is involved, so the profile options are ignored.
+ */
+public class StandInDriverFactory implements DriverFactory {
+
+	@Override
+	public WebDriver create(BrowserProfile profile) {
+		return new StandInDriver(StandInSite.get());
+	}
+}
@@ -0,0 +1,459 @@
+package com.qa.standin;
+
+import java.util.List;
+import java.util.Locale;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.Dimension;
+import org.openqa.selenium.ElementNotInteractableException;
+import org.openqa.selenium.Keys;
+import org.openqa.selenium.OutputType;
+import org.openqa.selenium.Point;
+import org.openqa.selenium.Rectangle;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.WebElement;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+import org.w3c.dom.NodeList;
+
+/**
+ * Element of a {@link StandInDriver} page.
+ *
+ * Visibility follows the markup only: an element is hidden when it or an
+ * ancestor carries the {@code hidden} attribute or an inline
+ * {@code display: none} style, or when it is a hidden input or head content.
+ */
+class StandInElement implements WebElement {
+
+	/**
+	 * End of the private-use range WebDriver key codes are taken from
+	 */
+	private static final char LAST_KEY_CODE = '\uF8FF';
+
+	private final StandInDriver driver;
+	private final Element node;
+
+	StandInElement(StandInDriver driver, Element node) {
+		this.driver = driver;
+		this.node = node;
+	}
+
+	@Override
+	public void click() {
+		requireInteractable();
+		if (node.hasAttribute("disabled")) {
+			return;
+		}
+		String tag = tag(node);
+		String type = node.getAttribute("type").toLowerCase(Locale.ROOT);
+
+		if (tag.equals("input")) {
+			if (type.equals("checkbox")) {
+				toggle(node, "checked", !node.hasAttribute("checked"));
+			} else if (type.equals("radio")) {
+				checkRadio();
+			} else if (type.equals("submit") || type.equals("image")) {
+				submitForm(node);
+			}
+			return;
+		}
+		if (tag.equals("option")) {
+			selectOption();
+			return;
+		}
+
+		// Clicks on content bubble up to the nearest link or button
+		for (Node current = node; current instanceof Element; current = current.getParentNode()) {
+			Element element = (Element) current;
+			String currentTag = tag(element);
+			if (currentTag.equals("a")) {
+				String href = element.getAttribute("href");
+				if (!href.isEmpty() && !href.startsWith("#") && !href.startsWith("javascript:")) {
+					driver.follow(href);
+				}
+				return;
+			}
+			if (currentTag.equals("button")) {
+				String buttonType = element.getAttribute("type").toLowerCase(Locale.ROOT);
+				// data-action="submit" stands in for the site's script on plain buttons
+				if (buttonType.isEmpty() || buttonType.equals("submit")
+						|| element.getAttribute("data-action").equals("submit")) {
+					submitForm(element);
+				}
+				return;
+			}
+		}
+	}
+
+	@Override
+	public void submit() {
+		checkStale();
+		Element form = form(node);
+		if (form == null) {
+			throw new UnsupportedOperationException("Element is not in a form: " + this);
+		}
+		driver.submit(form, null);
+	}
+
+	@Override
+	public void sendKeys(CharSequence... keysToSend) {
+		requireInteractable();
+		if (!isTextField()) {
+			throw new ElementNotInteractableException("Element does not accept text: " + this);
+		}
+		StringBuilder value = new StringBuilder(value());
+		for (CharSequence keys : keysToSend) {
+			for (int i = 0; i < keys.length(); i++) {
+				char c = keys.charAt(i);
+				if (c == Keys.ENTER.charAt(0) || c == Keys.RETURN.charAt(0) || c == '\n') {
+					// Enter in a field submits its form
+					setValue(value.toString());
+					Element form = form(node);
+					if (form != null) {
+						driver.submit(form, null);
+					}
+					return;
+				}
+				if (c == Keys.BACK_SPACE.charAt(0)) {
+					value.setLength(Math.max(0, value.length() - 1));
+				} else if (c < Keys.NULL.charAt(0) || c > LAST_KEY_CODE) {
+					// Other WebDriver key codes are modifiers and navigation keys
+					value.append(c);
+				}
+			}
+		}
+		setValue(value.toString());
+	}
+
+	@Override
+	public void clear() {
+		requireInteractable();
+		if (isTextField()) {
+			setValue("");
+		}
+	}
+
+	@Override
+	public String getTagName() {
+		checkStale();
+		return tag(node);
+	}
+
+	@Override
+	public String getAttribute(String name) {
+		checkStale();
+		String attribute = name.toLowerCase(Locale.ROOT);
+		switch (attribute) {
+		case "value":
+			return isTextField() || tag(node).equals("input") || tag(node).equals("option")
+					|| tag(node).equals("button") ? value() : attributeOrNull(name);
+		case "checked":
+		case "selected":
+			return isSelected() ? "true" : null;
+		case "disabled":
+		case "hidden":
+		case "readonly":
+		case "required":
+		case "multiple":
+			return node.hasAttribute(attribute) ? "true" : null;
+		default:
+			return attributeOrNull(name);
+		}
+	}
+
+	@Override
+	public String getDomAttribute(String name) {
+		checkStale();
+		return attributeOrNull(name);
+	}
+
+	@Override
+	public String getDomProperty(String name) {
+		checkStale();
+		switch (name) {
+		case "value":
+			return value();
+		case "checked":
+		case "selected":
+			return String.valueOf(isSelected());
+		case "tagName":
+			return tag(node).toUpperCase(Locale.ROOT);
+		case "textContent":
+			return node.getTextContent();
+		default:
+			return attributeOrNull(name);
+		}
+	}
+
+	@Override
+	public boolean isSelected() {
+		checkStale();
+		return tag(node).equals("option") ? node.hasAttribute("selected") : node.hasAttribute("checked");
+	}
+
+	@Override
+	public boolean isEnabled() {
+		checkStale();
+		return !node.hasAttribute("disabled");
+	}
+
+	@Override
+	public String getText() {
+		checkStale();
+		if (!visible(node)) {
+			return "";
+		}
+		StringBuilder text = new StringBuilder();
+		appendVisibleText(node, text);
+		return text.toString().replaceAll("\\s+", " ").trim();
+	}
+
+	@Override
+	public List<WebElement> findElements(By by) {
+		checkStale();
+		return driver.find(node, this, by);
+	}
+
+	@Override
+	public WebElement findElement(By by) {
+		return StandInDriver.first(findElements(by), by);
+	}
+
+	@Override
+	public boolean isDisplayed() {
+		checkStale();
+		return visible(node);
+	}
+
+	@Override
+	public Point getLocation() {
+		return getRect().getPoint();
+	}
+
+	@Override
+	public Dimension getSize() {
+		return getRect().getDimension();
+	}
+
+	@Override
+	public Rectangle getRect() {
+		// There is no layout; visible elements get a nominal box so size checks pass
+		return isDisplayed() ? new Rectangle(0, 0, 20, 100) : new Rectangle(0, 0, 0, 0);
+	}
+
+	@Override
+	public String getCssValue(String propertyName) {
+		checkStale();
+		return propertyName.equals("display") ? (visible(node) ? "block" : "none") : "";
+	}
+
+	@Override
+	public <X> X getScreenshotAs(OutputType<X> target) {
+		checkStale();
+		return driver.getScreenshotAs(target);
+	}
+
+	@Override
+	public boolean equals(Object other) {
+		return other instanceof StandInElement && ((StandInElement) other).node == node;
+	}
+
+	@Override
+	public int hashCode() {
+		return System.identityHashCode(node);
+	}
+
+	@Override
+	public String toString() {
+		String id = node.getAttribute("id");
+		return "[StandInElement " + tag(node) + (id.isEmpty() ? "" : "#" + id) + "]";
+	}
+
+	/**
+	 * Gets the value a select element submits.
+	 *
+	 * @param select The select element
+	 * @return Value of the selected option, or of the first option if none is
+	 *         selected
+	 */
+	static String selectedValue(Element select) {
+		NodeList options = select.getElementsByTagName("option");
+		Element chosen = null;
+		for (int i = 0; i < options.getLength(); i++) {
+			Element option = (Element) options.item(i);
+			if (chosen == null || option.hasAttribute("selected")) {
+				chosen = option;
+				if (option.hasAttribute("selected")) {
+					break;
+				}
+			}
+		}
+		if (chosen == null) {
+			return "";
+		}
+		return chosen.hasAttribute("value") ? chosen.getAttribute("value") : chosen.getTextContent().trim();
+	}
+
+	private void checkStale() {
+		driver.ensureOpen();
+		if (node.getOwnerDocument() != driver.document()) {
+			throw new StaleElementReferenceException("Element is no longer attached to the page: " + this);
+		}
+	}
+
+	private void requireInteractable() {
+		checkStale();
+		if (!visible(node)) {
+			throw new ElementNotInteractableException("Element is not displayed: " + this);
+		}
+	}
+
+	private boolean isTextField() {
+		String tag = tag(node);
+		if (tag.equals("textarea")) {
+			return true;
+		}
+		if (!tag.equals("input")) {
+			return false;
+		}
+		switch (node.getAttribute("type").toLowerCase(Locale.ROOT)) {
+		case "":
+		case "text":
+		case "password":
+		case "email":
+		case "search":
+		case "tel":
+		case "url":
+		case "number":
+			return true;
+		default:
+			return false;
+		}
+	}
+
+	private String value() {
+		if (tag(node).equals("textarea")) {
+			return node.getTextContent();
+		}
+		if (tag(node).equals("option") && !node.hasAttribute("value")) {
+			return node.getTextContent().trim();
+		}
+		if (tag(node).equals("select")) {
+			return selectedValue(node);
+		}
+		return node.getAttribute("value");
+	}
+
+	private void setValue(String value) {
+		if (tag(node).equals("textarea")) {
+			node.setTextContent(value);
+		} else {
+			node.setAttribute("value", value);
+		}
+	}
+
+	private String attributeOrNull(String name) {
+		return node.hasAttribute(name) ? node.getAttribute(name) : null;
+	}
+
+	private void checkRadio() {
+		Element form = form(node);
+		NodeList inputs = (form != null ? form : node.getOwnerDocument().getDocumentElement())
+				.getElementsByTagName("input");
+		for (int i = 0; i < inputs.getLength(); i++) {
+			Element input = (Element) inputs.item(i);
+			if (input.getAttribute("type").equalsIgnoreCase("radio")
+					&& input.getAttribute("name").equals(node.getAttribute("name"))) {
+				toggle(input, "checked", input == node);
+			}
+		}
+	}
+
+	private void selectOption() {
+		Node select = node.getParentNode();
+		while (select instanceof Element && !tag((Element) select).equals("select")) {
+			select = select.getParentNode();
+		}
+		if (select instanceof Element && !((Element) select).hasAttribute("multiple")) {
+			NodeList options = ((Element) select).getElementsByTagName("option");
+			for (int i = 0; i < options.getLength(); i++) {
+				toggle((Element) options.item(i), "selected", options.item(i) == node);
+			}
+		} else {
+			toggle(node, "selected", !node.hasAttribute("selected"));
+		}
+	}
+
+	private void submitForm(Element submitter) {
+		Element form = form(submitter);
+		if (form != null) {
+			driver.submit(form, submitter);
+		}
+	}
+
+	private static void toggle(Element element, String attribute, boolean on) {
+		if (on) {
+			element.setAttribute(attribute, attribute);
+		} else {
+			element.removeAttribute(attribute);
+		}
+	}
+
+	private static Element form(Element element) {
+		for (Node current = element; current instanceof Element; current = current.getParentNode()) {
+			if (tag((Element) current).equals("form")) {
+				return (Element) current;
+			}
+		}
+		return null;
+	}
+
+	private static String tag(Element element) {
+		return element.getTagName().toLowerCase(Locale.ROOT);
+	}
+
+	private static boolean visible(Element element) {
+		if (tag(element).equals("input") && element.getAttribute("type").equalsIgnoreCase("hidden")) {
+			return false;
+		}
+		for (Node current = element; current instanceof Element; current = current.getParentNode()) {
+			if (hiddenByMarkup((Element) current)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static boolean hiddenByMarkup(Element element) {
+		switch (tag(element)) {
+		case "head":
+		case "title":
+		case "script":
+		case "style":
+		case "meta":
+			return true;
+		default:
+			return element.hasAttribute("hidden")
+					|| element.getAttribute("style").replace(" ", "").toLowerCase(Locale.ROOT).contains("display:none");
+		}
+	}
+
+	private static void appendVisibleText(Node node, StringBuilder text) {
+		for (Node child = node.getFirstChild(); child != null; child = child.getNextSibling()) {
+			if (child.getNodeType() == Node.TEXT_NODE || child.getNodeType() == Node.CDATA_SECTION_NODE) {
+				text.append(child.getNodeValue());
+			} else if (child instanceof Element && !hiddenByMarkup((Element) child)) {
+				String tag = tag((Element) child);
+				boolean block = tag.equals("div") || tag.equals("p") || tag.equals("li") || tag.equals("h1")
+						|| tag.equals("h2") || tag.equals("h3") || tag.equals("h4") || tag.equals("br");
+				if (block) {
+					text.append(' ');
+				}
+				appendVisibleText(child, text);
+				if (block) {
+					text.append(' ');
+				}
+			}
+		}
+	}
+}
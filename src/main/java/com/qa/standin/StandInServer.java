@@ -0,0 +1,162 @@
+package com.qa.standin;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.qa.config.Configuration;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Embedded HTTP server that serves {@link StandInSite} on the loopback
+ * interface, so real browsers can run the suite against localhost instead of
+ * the public demo store.
+ *
+ * The server is started once per JVM on first use and stopped at shutdown.
+ * It is switched on with "standin.server.enabled"; "standin.server.port"
+ * picks the port (0, the default, takes a free one). Requests are handled on
+ * a pool of daemon threads, so parallel workers are served concurrently.
+ */
+public final class StandInServer {
+
+	private static final class Holder {
+		private static final StandInServer INSTANCE = new StandInServer(StandInSite.get(),
+				Configuration.get().getInt("standin.server.port", 0));
+	}
+
+	private final StandInSite site;
+	private final HttpServer server;
+	private final ExecutorService executor;
+
+	private StandInServer(StandInSite site, int port) {
+		this.site = site;
+		AtomicInteger threads = new AtomicInteger();
+		this.executor = Executors.newCachedThreadPool(task -> {
+			Thread thread = new Thread(task, "standin-http-" + threads.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		});
+		// Without TCP_NODELAY small responses wait on delayed ACKs. The JDK server
+		// reads this flag once, when its classes load
+		if (System.getProperty("sun.net.httpserver.nodelay") == null) {
+			System.setProperty("sun.net.httpserver.nodelay", "true");
+		}
+
+		// The server's dispatcher thread inherits the daemon flag of the thread that
+		// creates it, so launch from a daemon thread to never keep the JVM alive
+		FutureTask<HttpServer> launch = new FutureTask<>(() -> {
+			HttpServer http = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 64);
+			http.createContext("/", this::handle);
+			http.setExecutor(executor);
+			http.start();
+			return http;
+		});
+		Thread starter = new Thread(launch, "standin-http-start");
+		starter.setDaemon(true);
+		starter.start();
+		try {
+			this.server = launch.get();
+		} catch (ExecutionException e) {
+			executor.shutdownNow();
+			throw new IllegalStateException("Stand-in server could not start on port " + port + ": "
+					+ e.getCause().getMessage());
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			executor.shutdownNow();
+			throw new IllegalStateException("Interrupted while starting the stand-in server");
+		}
+		Runtime.getRuntime().addShutdownHook(new Thread(this::stop, "standin-http-stop"));
+	}
+
+	/**
+	 * @return The shared server, started on first use
+	 */
+	public static StandInServer get() {
+		return Holder.INSTANCE;
+	}
+
+	/**
+	 * @param config Configuration holding the "standin.server.enabled" setting
+	 * @return true if tests should run against the embedded server
+	 */
+	public static boolean isEnabled(Configuration config) {
+		return config.getBoolean("standin.server.enabled", false);
+	}
+
+	/**
+	 * @return Root URL of the server, e.g. "http://127.0.0.1:43127/"
+	 */
+	public String getBaseUrl() {
+		InetSocketAddress address = server.getAddress();
+		return "http://" + address.getAddress().getHostAddress() + ":" + address.getPort() + "/";
+	}
+
+	/**
+	 * Stops accepting requests and releases the port.
+	 */
+	public void stop() {
+		server.stop(0);
+		executor.shutdownNow();
+	}
+
+	private void handle(HttpExchange exchange) throws IOException {
+		try {
+			String method = exchange.getRequestMethod();
+			String target = exchange.getRequestURI().getRawPath();
+			if (exchange.getRequestURI().getRawQuery() != null) {
+				target += "?" + exchange.getRequestURI().getRawQuery();
+			}
+			Map<String, String> form = Collections.emptyMap();
+			if (method.equalsIgnoreCase("POST")) {
+				try (InputStream body = exchange.getRequestBody()) {
+					form = StandInSite.parseQuery(new String(body.readAllBytes(), StandardCharsets.UTF_8));
+				}
+			}
+
+			StandInSite.Response response = site.handle(new StandInSite.Request(method, target, form,
+					sessionCookie(exchange.getRequestHeaders().getFirst("Cookie"))));
+
+			exchange.getResponseHeaders().add("Set-Cookie",
+					StandInSite.SESSION_COOKIE + "=" + response.getSessionId() + "; Path=/; HttpOnly");
+			exchange.getResponseHeaders().add("Cache-Control", "no-store");
+			if (response.getLocation() != null) {
+				exchange.getResponseHeaders().add("Location", response.getLocation());
+			}
+			byte[] body = response.getBody().getBytes(StandardCharsets.UTF_8);
+			exchange.getResponseHeaders().add("Content-Type", "text/html; charset=utf-8");
+			boolean head = method.equalsIgnoreCase("HEAD");
+			exchange.sendResponseHeaders(response.getStatus(), head || body.length == 0 ? -1 : body.length);
+			if (!head && body.length > 0) {
+				try (OutputStream out = exchange.getResponseBody()) {
+					out.write(body);
+				}
+			}
+		} finally {
+			exchange.close();
+		}
+	}
+
+	private static String sessionCookie(String header) {
+		if (header == null) {
+			return null;
+		}
+		for (String cookie : header.split(";")) {
+			String[] pair = cookie.trim().split("=", 2);
+			if (pair.length == 2 && pair[0].equals(StandInSite.SESSION_COOKIE)) {
+				return pair[1];
+			}
+		}
+		return null;
+	}
+}
@@ -0,0 +1,366 @@
+package com.qa.standin;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory model of the OpenCart storefront used by the tests: home, product
+ * search, login, forgotten password, registration, account and newsletter
+ * pages.
+ *
+ * Pages are rendered from the XHTML fixtures under {@code standin/} with the
+ * same structure the page objects' locators expect. The site keeps customer
+ * accounts and sessions in memory, so registration, login and newsletter
+ * subscriptions behave like the demo store without any network access. One
+ * instance is shared per JVM and is safe to use from parallel tests.
+ */
+public final class StandInSite {
+
+	/**
+	 * Name of the session cookie
+	 */
+	public static final String SESSION_COOKIE = "OCSESSID";
+
+	/**
+	 * Account seeded at start-up, matching the credentials in the data providers
+	 */
+	public static final String DEFAULT_EMAIL = "test12345@gmail.com";
+	public static final String DEFAULT_PASSWORD = "Test@12345";
+
+	private static final Pattern EMAIL = Pattern.compile("^[^@\\s]+@[^@\\s]+\\.[^@\\s]+$");
+
+	private static final class Holder {
+		private static final StandInSite INSTANCE = new StandInSite();
+	}
+
+	/**
+	 * A request to the site.
+	 */
+	public static final class Request {
+		private final String method;
+		private final String path;
+		private final Map<String, String> query;
+		private final Map<String, String> form;
+		private final String sessionId;
+
+		/**
+		 * @param method    HTTP method, "GET" or "POST"
+		 * @param target    Path and query string, e.g. "/index.php?route=account/login"
+		 * @param form      Submitted form fields, empty for GET requests
+		 * @param sessionId Value of the session cookie, or null
+		 */
+		public Request(String method, String target, Map<String, String> form, String sessionId) {
+			int question = target.indexOf('?');
+			this.method = method.toUpperCase(Locale.ROOT);
+			this.path = question < 0 ? target : target.substring(0, question);
+			this.query = question < 0 ? Collections.emptyMap() : parseQuery(target.substring(question + 1));
+			this.form = form;
+			this.sessionId = sessionId;
+		}
+	}
+
+	/**
+	 * The site's answer to a request.
+	 */
+	public static final class Response {
+		private final int status;
+		private final String location;
+		private final String body;
+		private final String sessionId;
+
+		private Response(int status, String location, String body, String sessionId) {
+			this.status = status;
+			this.location = location;
+			this.body = body;
+			this.sessionId = sessionId;
+		}
+
+		/**
+		 * @return HTTP status code: 200, 302 or 404
+		 */
+		public int getStatus() {
+			return status;
+		}
+
+		/**
+		 * @return Redirect target relative to the site root, or null
+		 */
+		public String getLocation() {
+			return location;
+		}
+
+		/**
+		 * @return The XHTML page, or an empty string for redirects
+		 */
+		public String getBody() {
+			return body;
+		}
+
+		/**
+		 * @return Session id the client must send back in the session cookie
+		 */
+		public String getSessionId() {
+			return sessionId;
+		}
+	}
+
+	/**
+	 * A registered customer.
+	 */
+	private static final class Account {
+		private final String password;
+		private volatile boolean newsletter;
+
+		private Account(String password, boolean newsletter) {
+			this.password = password;
+			this.newsletter = newsletter;
+		}
+	}
+
+	private final PageTemplates templates = new PageTemplates();
+	private final Map<String, String[]> catalog = loadCatalog();
+	private final Map<String, Account> accounts = new ConcurrentHashMap<>();
+
+	/**
+	 * Logged-in customer email per session id; an empty string means a guest
+	 */
+	private final Map<String, String> sessions = new ConcurrentHashMap<>();
+
+	private StandInSite() {
+		accounts.put(DEFAULT_EMAIL, new Account(DEFAULT_PASSWORD, false));
+	}
+
+	/**
+	 * @return The site shared by all stand-in drivers and servers of this JVM
+	 */
+	public static StandInSite get() {
+		return Holder.INSTANCE;
+	}
+
+	/**
+	 * Handles a request.
+	 *
+	 * @param request The request
+	 * @return The rendered page or a redirect
+	 */
+	public Response handle(Request request) {
+		String sessionId = request.sessionId;
+		if (sessionId == null || !sessions.containsKey(sessionId)) {
+			sessionId = UUID.randomUUID().toString().replace("-", "");
+			sessions.put(sessionId, "");
+		}
+		String customer = sessions.get(sessionId);
+		Account account = customer.isEmpty() ? null : accounts.get(customer);
+
+		if (!request.path.equals("/") && !request.path.equals("/index.php")) {
+			return page(404, sessionId, account, "Page not found!", "not-found", Collections.emptyMap(), null);
+		}
+		String route = request.query.getOrDefault("route", "common/home");
+		boolean post = request.method.equals("POST");
+
+		switch (route) {
+		case "common/home":
+			return page(200, sessionId, account, "Your Store", "home", Collections.emptyMap(), null);
+		case "product/search":
+			return search(sessionId, account, request.query.getOrDefault("search", ""));
+		case "account/login":
+			if (account != null) {
+				return redirect("account/account", sessionId);
+			}
+			return post ? login(sessionId, request.form) : loginPage(sessionId, "", null);
+		case "account/logout":
+			sessions.put(sessionId, "");
+			return redirect("common/home", sessionId);
+		case "account/forgotten":
+			return page(200, sessionId, account, "Forgot Your Password?", "forgotten", Collections.emptyMap(), null);
+		case "account/register":
+			if (account != null) {
+				return redirect("account/account", sessionId);
+			}
+			return post ? register(sessionId, request.form)
+					: page(200, sessionId, null, "Register Account", "register", hiddenErrors(new HashMap<>()), null);
+		case "account/success":
+			return page(200, sessionId, account, "Your Account Has Been Created!", "success", Collections.emptyMap(),
+					null);
+		case "account/account":
+			if (account == null) {
+				return redirect("account/login", sessionId);
+			}
+			return page(200, sessionId, account, "My Account", "account", Collections.emptyMap(), null);
+		case "account/newsletter":
+			if (account == null) {
+				return redirect("account/login", sessionId);
+			}
+			if (post) {
+				account.newsletter = "1".equals(request.form.get("newsletter"));
+				return redirect("account/account", sessionId);
+			}
+			return page(200, sessionId, account, "Newsletter Subscription", "newsletter",
+					Collections.singletonMap("newsletterChecked", account.newsletter ? " checked=\"checked\"" : ""),
+					null);
+		default:
+			return page(404, sessionId, account, "Page not found!", "not-found", Collections.emptyMap(), null);
+		}
+	}
+
+	private Response search(String sessionId, Account account, String search) {
+		String needle = search.trim().toLowerCase(Locale.ROOT);
+		StringBuilder products = new StringBuilder();
+		if (!needle.isEmpty()) {
+			for (Map.Entry<String, String[]> product : catalog.entrySet()) {
+				if (product.getValue()[0].toLowerCase(Locale.ROOT).contains(needle)) {
+					Map<String, String> values = new HashMap<>();
+					values.put("id", product.getKey());
+					values.put("name", product.getValue()[0]);
+					values.put("price", product.getValue()[1]);
+					products.append(templates.render("product", values));
+				}
+			}
+		}
+
+		Map<String, String> values = new HashMap<>();
+		values.put("heading", needle.isEmpty() ? "Search" : "Search - " + search);
+		values.put("search", search);
+		values.put("products", products.toString());
+		values.put("empty", products.length() == 0
+				? "<p>There is no product that matches the search criteria.</p>"
+				: "");
+		return page(200, sessionId, account, values.get("heading"), "search", values, null);
+	}
+
+	private Response loginPage(String sessionId, String email, String alert) {
+		return page(200, sessionId, null, "Account Login", "login", Collections.singletonMap("email", email), alert);
+	}
+
+	private Response login(String sessionId, Map<String, String> form) {
+		String email = form.getOrDefault("email", "").trim().toLowerCase(Locale.ROOT);
+		Account account = accounts.get(email);
+		if (account == null || !account.password.equals(form.getOrDefault("password", ""))) {
+			return loginPage(sessionId, email, "Warning: No match for E-Mail Address and/or Password.");
+		}
+		sessions.put(sessionId, email);
+		return redirect("account/account", sessionId);
+	}
+
+	private Response register(String sessionId, Map<String, String> form) {
+		String firstName = form.getOrDefault("firstname", "").trim();
+		String lastName = form.getOrDefault("lastname", "").trim();
+		String email = form.getOrDefault("email", "").trim().toLowerCase(Locale.ROOT);
+		String password = form.getOrDefault("password", "");
+
+		Map<String, String> values = new HashMap<>();
+		values.put("firstname", firstName);
+		values.put("lastname", lastName);
+		values.put("email", email);
+		values.put("newsletterChecked", form.containsKey("newsletter") ? " checked=\"checked\"" : "");
+		values.put("agreeChecked", form.containsKey("agree") ? " checked=\"checked\"" : "");
+		if (firstName.isEmpty() || firstName.length() > 32) {
+			values.put("firstnameError", "First Name must be between 1 and 32 characters!");
+		}
+		if (lastName.isEmpty() || lastName.length() > 32) {
+			values.put("lastnameError", "Last Name must be between 1 and 32 characters!");
+		}
+		if (!EMAIL.matcher(email).matches()) {
+			values.put("emailError", "E-Mail Address does not appear to be valid!");
+		}
+		if (password.length() < 4 || password.length() > 20) {
+			values.put("passwordError", "Password must be between 4 and 20 characters!");
+		}
+
+		String alert = form.containsKey("agree") ? null : "Warning: You must agree to the Privacy Policy!";
+		boolean valid = alert == null && !values.containsKey("firstnameError") && !values.containsKey("lastnameError")
+				&& !values.containsKey("emailError") && !values.containsKey("passwordError");
+		if (valid) {
+			if (accounts.putIfAbsent(email, new Account(password, form.containsKey("newsletter"))) == null) {
+				sessions.put(sessionId, email);
+				return redirect("account/success", sessionId);
+			}
+			alert = "Warning: E-Mail Address is already registered!";
+		}
+		return page(200, sessionId, null, "Register Account", "register", hiddenErrors(values), alert);
+	}
+
+	/**
+	 * Hides the error placeholders of fields that have no error.
+	 */
+	private static Map<String, String> hiddenErrors(Map<String, String> values) {
+		for (String field : new String[] { "firstname", "lastname", "email", "password" }) {
+			if (!values.containsKey(field + "Error")) {
+				values.put(field + "Hidden", " hidden=\"hidden\"");
+			}
+		}
+		return values;
+	}
+
+	private Response page(int status, String sessionId, Account account, String title, String template,
+			Map<String, String> values, String alert) {
+		Map<String, String> layout = new HashMap<>();
+		layout.put("title", title);
+		layout.put("search", values.getOrDefault("search", ""));
+		layout.put("accountLinks", account == null
+				? link("account/register", "Register") + link("account/login", "Login")
+				: link("account/account", "My Account") + link("account/order", "Order History")
+						+ link("account/logout", "Logout"));
+		layout.put("alert", alert == null ? "" : templates.render("alert", Collections.singletonMap("message", alert)));
+		layout.put("content", templates.render(template, values));
+		return new Response(status, null, templates.render("layout", layout), sessionId);
+	}
+
+	private static String link(String route, String text) {
+		return "<li><a href=\"index.php?route=" + route + "&amp;language=en-gb\" class=\"dropdown-item\">" + text
+				+ "</a></li>";
+	}
+
+	private static Response redirect(String route, String sessionId) {
+		return new Response(302, "/index.php?route=" + route + "&language=en-gb", "", sessionId);
+	}
+
+	/**
+	 * Parses an URL-encoded query string or form body.
+	 *
+	 * @param query The encoded pairs, without the leading '?'
+	 * @return The decoded values in order; repeated names keep the first value
+	 */
+	public static Map<String, String> parseQuery(String query) {
+		Map<String, String> values = new LinkedHashMap<>();
+		for (String pair : query.split("&")) {
+			if (pair.isEmpty()) {
+				continue;
+			}
+			int equals = pair.indexOf('=');
+			String name = URLDecoder.decode(equals < 0 ? pair : pair.substring(0, equals), StandardCharsets.UTF_8);
+			String value = equals < 0 ? "" : URLDecoder.decode(pair.substring(equals + 1), StandardCharsets.UTF_8);
+			values.putIfAbsent(name, value);
+		}
+		return values;
+	}
+
+	private static Map<String, String[]> loadCatalog() {
+		Properties properties = new Properties();
+		try (InputStream in = StandInSite.class.getClassLoader().getResourceAsStream("standin/catalog.properties")) {
+			if (in == null) {
+				throw new IllegalStateException("Stand-in catalog not found: standin/catalog.properties");
+			}
+			properties.load(in);
+		} catch (IOException e) {
+			throw new IllegalStateException("Stand-in catalog could not be read: " + e.getMessage());
+		}
+		Map<String, String[]> catalog = new TreeMap<>();
+		for (String id : properties.stringPropertyNames()) {
+			catalog.put(id, properties.getProperty(id).split("\\|", 2));
+		}
+		return Collections.unmodifiableMap(catalog);
+	}
+}
@@ -0,0 +1,185 @@
+package com.qa.standin;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.InvalidSelectorException;
+
+/**
+ * Translates Selenium locators into XPath 1.0 expressions evaluated against the
+ * stand-in DOM.
+ *
+ * Every built-in locator is supported. CSS selectors are limited to what page
+ * objects commonly use: type, {@code #id}, {@code .class} and attribute
+ * selectors ({@code [a]}, {@code [a=v]}, {@code [a='v']}) combined with
+ * descendant and child combinators. Anything else is rejected with an
+ * {@link InvalidSelectorException}.
+ */
+final class XPathLocators {
+
+	private XPathLocators() {
+	}
+
+	/**
+	 * Translates a locator.
+	 *
+	 * @param by The locator
+	 * @return An XPath relative to the search context, or null if the locator is
+	 *         not a single remotable strategy (e.g. chained locators)
+	 */
+	static String toXPath(By by) {
+		if (!(by instanceof By.Remotable)) {
+			return null;
+		}
+		By.Remotable.Parameters parameters = ((By.Remotable) by).getRemoteParameters();
+		String value = String.valueOf(parameters.value());
+		switch (parameters.using()) {
+		case "xpath":
+			return value;
+		case "id":
+			return ".//*[@id=" + literal(value) + "]";
+		case "name":
+			return ".//*[@name=" + literal(value) + "]";
+		case "class name":
+			return ".//*[" + hasClass(value) + "]";
+		case "tag name":
+			return ".//" + value;
+		case "link text":
+			return ".//a[normalize-space()=" + literal(value.trim()) + "]";
+		case "partial link text":
+			return ".//a[contains(normalize-space(), " + literal(value.trim()) + ")]";
+		case "css selector":
+			return css(value);
+		default:
+			throw new InvalidSelectorException("Unsupported locator strategy: " + parameters.using());
+		}
+	}
+
+	private static String css(String selector) {
+		StringBuilder xpath = new StringBuilder(".");
+		String axis = "//";
+		for (String token : tokenize(selector.trim())) {
+			if (token.equals(">")) {
+				axis = "/";
+				continue;
+			}
+			xpath.append(axis).append(compound(token, selector));
+			axis = "//";
+		}
+		return xpath.toString();
+	}
+
+	/**
+	 * Splits a selector into compound selectors and child combinators, keeping
+	 * quoted attribute values intact.
+	 */
+	private static List<String> tokenize(String selector) {
+		List<String> tokens = new ArrayList<>();
+		StringBuilder current = new StringBuilder();
+		char quote = 0;
+		int brackets = 0;
+		for (char c : selector.toCharArray()) {
+			if (quote != 0) {
+				current.append(c);
+				quote = c == quote ? 0 : quote;
+			} else if (c == '\'' || c == '"') {
+				quote = c;
+				current.append(c);
+			} else if (c == '[') {
+				brackets++;
+				current.append(c);
+			} else if (c == ']') {
+				brackets--;
+				current.append(c);
+			} else if (brackets == 0 && (Character.isWhitespace(c) || c == '>')) {
+				if (current.length() > 0) {
+					tokens.add(current.toString());
+					current.setLength(0);
+				}
+				if (c == '>') {
+					tokens.add(">");
+				}
+			} else {
+				current.append(c);
+			}
+		}
+		if (current.length() > 0) {
+			tokens.add(current.toString());
+		}
+		return tokens;
+	}
+
+	private static String compound(String token, String selector) {
+		int i = 0;
+		while (i < token.length() && "#.[".indexOf(token.charAt(i)) < 0) {
+			i++;
+		}
+		String tag = i == 0 ? "*" : token.substring(0, i);
+		StringBuilder predicates = new StringBuilder();
+
+		while (i < token.length()) {
+			char kind = token.charAt(i);
+			if (kind == '[') {
+				int end = token.indexOf(']', i);
+				if (end < 0) {
+					throw new InvalidSelectorException("Unclosed attribute selector in: " + selector);
+				}
+				String attribute = token.substring(i + 1, end);
+				int equals = attribute.indexOf('=');
+				if (equals < 0) {
+					predicates.append("[@").append(attribute.trim()).append(']');
+				} else {
+					String name = attribute.substring(0, equals).trim();
+					if (name.endsWith("~") || name.endsWith("^") || name.endsWith("$") || name.endsWith("*")
+							|| name.endsWith("|")) {
+						throw new InvalidSelectorException("Unsupported attribute operator in: " + selector);
+					}
+					String value = unquote(attribute.substring(equals + 1).trim());
+					predicates.append("[@").append(name).append('=').append(literal(value)).append(']');
+				}
+				i = end + 1;
+			} else if (kind == '#' || kind == '.') {
+				int end = i + 1;
+				while (end < token.length() && "#.[".indexOf(token.charAt(end)) < 0) {
+					end++;
+				}
+				String name = token.substring(i + 1, end).replace("\\", "");
+				predicates.append('[').append(kind == '#' ? "@id=" + literal(name) : hasClass(name)).append(']');
+				i = end;
+			} else {
+				throw new InvalidSelectorException("Unsupported CSS selector: " + selector);
+			}
+		}
+		if (tag.contains(":") || tag.contains("(")) {
+			throw new InvalidSelectorException("Unsupported CSS selector: " + selector);
+		}
+		return tag + predicates;
+	}
+
+	private static String unquote(String value) {
+		if (value.length() >= 2 && (value.charAt(0) == '\'' || value.charAt(0) == '"')
+				&& value.charAt(value.length() - 1) == value.charAt(0)) {
+			return value.substring(1, value.length() - 1);
+		}
+		return value;
+	}
+
+	private static String hasClass(String name) {
+		return "contains(concat(' ', normalize-space(@class), ' '), " + literal(" " + name + " ") + ")";
+	}
+
+	/**
+	 * Quotes a string as an XPath literal, using concat() when it contains both
+	 * kinds of quotes.
+	 */
+	static String literal(String value) {
+		if (value.indexOf('\'') < 0) {
+			return "'" + value + "'";
+		}
+		if (value.indexOf('"') < 0) {
+			return "\"" + value + "\"";
+		}
+		return "concat('" + value.replace("'", "', \"'\", '") + "')";
+	}
+}
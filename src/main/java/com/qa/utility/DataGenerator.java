@@ -1,43 +1,116 @@
 package com.qa.utility;
 
 import java.security.SecureRandom;
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.List;
-import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.qa.config.Configuration;
 
 /**
  * Utility class for generating random data such as text, email, phone numbers,
  * passwords, and numbers.
+ *
+ * Values are drawn from {@link ThreadLocalRandom}, so parallel tests never
+ * contend on a shared generator, and are built in preallocated char arrays.
+ * Emails are unique for the whole run: each one carries a per-run prefix and
+ * a sequence number, so parallel registrations cannot collide.
+ *
+ * Setting "data.seed" makes runs reproducible: every generator then draws from
+ * its own stream split off a seeded root, in creation order. Because the run
+ * prefix still changes between runs, reproducible runs do not collide with
+ * accounts registered by earlier runs; set "data.runPrefix" as well to
+ * reproduce the exact emails. A seeded generator must not be shared between
+ * threads.
  */
 public class DataGenerator {
 
+	private static final char[] ALPHANUMERIC = "abcdefghijklmnopqrstuvwxyzABCDEFGHIJKLMNOPQRSTUVWXYZ0123456789"
+			.toCharArray();
+	private static final char[] DIGITS = "0123456789".toCharArray();
+	private static final char[] UPPER_CASE = "ABCDEFGHIJKLMNOPQRSTUVWXYZ".toCharArray();
+	private static final char[] LOWER_CASE = "abcdefghijklmnopqrstuvwxyz".toCharArray();
+	private static final char[] SPECIAL = "!@#$%^&*()-_=+[]{}|;:,.<>?".toCharArray();
+	private static final char[] PASSWORD_CHARS = (new String(UPPER_CASE) + new String(LOWER_CASE)
+			+ new String(SPECIAL) + new String(DIGITS)).toCharArray();
+
+	private static final String EMAIL_DOMAIN = "@gmail.com";
+
+	/**
+	 * Seeded root all seeded generators split from, or null for unseeded runs
+	 */
+	private static final SplittableRandom SEED_ROOT = Configuration.get().find("data.seed")
+			.map(seed -> new SplittableRandom(Long.parseLong(seed))).orElse(null);
+
+	/**
+	 * Run-unique part of every email: the start time in base 36 plus two random
+	 * characters, unless "data.runPrefix" is set
+	 */
+	private static final String RUN_PREFIX = Configuration.get().find("data.runPrefix").orElseGet(() -> {
+		SecureRandom random = new SecureRandom();
+		return Long.toString(System.currentTimeMillis(), 36) + LOWER_CASE[random.nextInt(LOWER_CASE.length)]
+				+ LOWER_CASE[random.nextInt(LOWER_CASE.length)];
+	});
+
+	private static final AtomicLong EMAIL_SEQUENCE = new AtomicLong();
+
+	/* Own random stream of a seeded generator; null draws from ThreadLocalRandom. */
+	private final SplittableRandom random;
+
+	/**
+	 * Creates a generator. It is seeded from "data.seed" when that setting is
+	 * present, otherwise it draws from the calling thread's ThreadLocalRandom.
+	 */
+	public DataGenerator() {
+		if (SEED_ROOT == null) {
+			this.random = null;
+		} else {
+			synchronized (SEED_ROOT) {
+				this.random = SEED_ROOT.split();
+			}
+		}
+	}
+
+	/**
+	 * Creates a generator with a fixed seed, producing the same sequence of
+	 * values on every run (apart from the email prefix and sequence).
+	 *
+	 * @param seed Seed of the generator's random stream
+	 */
+	public DataGenerator(long seed) {
+		this.random = new SplittableRandom(seed);
+	}
+
 	/**
 	 * Generates a random string of alphanumeric characters.
 	 *
 	 * @return Randomly generated string
 	 */
 	public String generateRandomString() {
-		int length = 8; // Length of the generated string
-		String characters = "abcdefghijklmnopqrstuvwxyzABCDEFGHIJKLMNOPQRSTUVWXYZ0123456789";
-		StringBuilder name = new StringBuilder();
-		Random random = new Random();
-
-		// Build the random string character by character
-		for (int i = 0; i < length; i++) {
-			name.append(characters.charAt(random.nextInt(characters.length())));
-		}
+		return new String(randomChars(ALPHANUMERIC, 8));
+	}
 
-		return name.toString();
+	/**
+	 * Generates a random capitalised name of letters only, valid for name fields.
+	 *
+	 * @return Randomly generated name
+	 */
+	public String generateRandomName() {
+		char[] name = randomChars(LOWER_CASE, 6);
+		name[0] = Character.toUpperCase(name[0]);
+		return new String(name);
 	}
 
 	/**
-	 * Generates a random email address.
+	 * Generates an email address that is unique for the run: a random part, the
+	 * run prefix and a sequence number shared by all threads.
 	 *
 	 * @return Randomly generated email address
 	 */
 	public String generateRandomEmail() {
-		return generateRandomString() + "@gmail.com";
+		String sequence = Long.toString(EMAIL_SEQUENCE.incrementAndGet(), 36);
+		return new StringBuilder(40).append(randomChars(LOWER_CASE, 4)).append('.').append(RUN_PREFIX)
+				.append(sequence).append(EMAIL_DOMAIN).toString();
 	}
 
 	/**
@@ -46,19 +119,11 @@ public class DataGenerator {
 	 * @return Randomly generated phone number
 	 */
 	public String generateRandomNumber() {
-		String digits = "0123456789";
-		StringBuilder number = new StringBuilder();
-		Random random = new Random();
+		char[] number = randomChars(DIGITS, 10);
 
 		// Ensure the first digit is non-zero to get a valid 10-digit number
-		number.append(digits.charAt(random.nextInt(digits.length() - 1) + 1));
-
-		// Generate the remaining 9 digits randomly
-		for (int i = 1; i < 10; i++) {
-			number.append(digits.charAt(random.nextInt(digits.length())));
-		}
-
-		return number.toString();
+		number[0] = DIGITS[nextInt(1, DIGITS.length)];
+		return new String(number);
 	}
 
 	/**
@@ -68,39 +133,27 @@ public class DataGenerator {
 	 * @return Randomly generated password
 	 */
 	public String generateRandomPassword() {
-		// Characters to be used in the password
-		String upperCaseChars = "ABCDEFGHIJKLMNOPQRSTUVWXYZ";
-		String lowerCaseChars = "abcdefghijklmnopqrstuvwxyz";
-		String specialChars = "!@#$%^&*()-_=+[]{}|;:,.<>?";
-		String numericChars = "0123456789";
-
-		SecureRandom random = new SecureRandom();
-
-		// List to hold the characters of the password
-		List<Character> passwordChars = new ArrayList<>();
+		char[] password = new char[8];
 
 		// Ensure at least one character from each character set is included
-		passwordChars.add(upperCaseChars.charAt(random.nextInt(upperCaseChars.length())));
-		passwordChars.add(lowerCaseChars.charAt(random.nextInt(lowerCaseChars.length())));
-		passwordChars.add(specialChars.charAt(random.nextInt(specialChars.length())));
-		passwordChars.add(numericChars.charAt(random.nextInt(numericChars.length())));
+		password[0] = UPPER_CASE[nextInt(0, UPPER_CASE.length)];
+		password[1] = LOWER_CASE[nextInt(0, LOWER_CASE.length)];
+		password[2] = SPECIAL[nextInt(0, SPECIAL.length)];
+		password[3] = DIGITS[nextInt(0, DIGITS.length)];
 
 		// Fill the rest of the password length with random characters from all sets
-		String allChars = upperCaseChars + lowerCaseChars + specialChars + numericChars;
-		for (int i = 4; i < 8; i++) {
-			passwordChars.add(allChars.charAt(random.nextInt(allChars.length())));
+		for (int i = 4; i < password.length; i++) {
+			password[i] = PASSWORD_CHARS[nextInt(0, PASSWORD_CHARS.length)];
 		}
 
-		// Shuffle the list to ensure randomness
-		Collections.shuffle(passwordChars);
-
-		// Convert the list to a string
-		StringBuilder password = new StringBuilder();
-		for (char c : passwordChars) {
-			password.append(c);
+		// Shuffle in place (Fisher-Yates) so the required characters move around
+		for (int i = password.length - 1; i > 0; i--) {
+			int j = nextInt(0, i + 1);
+			char swap = password[i];
+			password[i] = password[j];
+			password[j] = swap;
 		}
-
-		return password.toString();
+		return new String(password);
 	}
 
 	/**
@@ -116,10 +169,25 @@ public class DataGenerator {
 		if (startIndex >= endIndex) {
 			throw new IllegalArgumentException("Start index must be less than end index");
 		}
+		return nextInt(startIndex, endIndex);
+	}
+
+	/**
+	 * @return The run-unique prefix included in every generated email
+	 */
+	public static String getRunPrefix() {
+		return RUN_PREFIX;
+	}
+
+	private char[] randomChars(char[] alphabet, int length) {
+		char[] chars = new char[length];
+		for (int i = 0; i < length; i++) {
+			chars[i] = alphabet[nextInt(0, alphabet.length)];
+		}
+		return chars;
+	}
 
-		Random random = new Random();
-		// Generate a random number between startIndex (inclusive) and endIndex
-		// (exclusive)
-		return random.nextInt(endIndex - startIndex) + startIndex;
+	private int nextInt(int origin, int bound) {
+		return random != null ? random.nextInt(origin, bound) : ThreadLocalRandom.current().nextInt(origin, bound);
 	}
-}
\ No newline at end of file
+}
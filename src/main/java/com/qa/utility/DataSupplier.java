@@ -1,11 +1,15 @@
 package com.qa.utility;
 
+import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
 
 import org.testng.annotations.DataProvider;
 
+import com.qa.config.Configuration;
+import com.qa.data.DataFile;
+
 public class DataSupplier {
 
     /**
@@ -52,4 +56,34 @@ public class DataSupplier {
 		
         return data.iterator();
     }
-}
\ No newline at end of file
+
+    /**
+     * Streams login test data from the CSV file set as "data.file.login",
+     * limited to the shard set as "data.shard".
+     *
+     * @return Iterator<Object[]> of email, password and whether the login is valid
+     */
+    @DataProvider(name = "LoginFileData")
+    public Iterator<Object[]> loginFileData() {
+        Configuration config = Configuration.get();
+        return DataFile.open(Paths.get(config.getString("data.file.login")))
+            .columns("email", "password", "valid")
+            .shard(config)
+            .parameters();
+    }
+
+    /**
+     * Streams search test data from the JSON Lines file set as "data.file.search",
+     * limited to the shard set as "data.shard".
+     *
+     * @return Iterator<Object[]> of single DataRows with product and exists columns
+     */
+    @DataProvider(name = "SearchFileData", parallel = true)
+    public Iterator<Object[]> searchFileData() {
+        Configuration config = Configuration.get();
+        return DataFile.open(Paths.get(config.getString("data.file.search")))
+            .columns("product", "exists")
+            .shard(config)
+            .rowParameters();
+    }
+}
@@ -0,0 +1,97 @@
+package com.qa.config;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+public class ConfigurationTest {
+
+	@Test
+	public void parsesDurations() {
+		Map<String, String> values = new HashMap<>();
+		values.put("millis", "150ms");
+		values.put("seconds", "10s");
+		values.put("minutes", "2m");
+		values.put("hours", "1h");
+		values.put("iso", "PT5S");
+		values.put("isoLowerCase", "pt1m30s");
+		values.put("bare", "750");
+		values.put("spaced", "30 s");
+		Configuration config = Configuration.of(values);
+
+		Assert.assertEquals(config.getDuration("millis", null), Duration.ofMillis(150));
+		Assert.assertEquals(config.getDuration("seconds", null), Duration.ofSeconds(10));
+		Assert.assertEquals(config.getDuration("minutes", null), Duration.ofMinutes(2));
+		Assert.assertEquals(config.getDuration("hours", null), Duration.ofHours(1));
+		Assert.assertEquals(config.getDuration("iso", null), Duration.ofSeconds(5));
+		Assert.assertEquals(config.getDuration("isoLowerCase", null), Duration.ofSeconds(90));
+		Assert.assertEquals(config.getDuration("bare", null), Duration.ofMillis(750));
+		Assert.assertEquals(config.getDuration("spaced", null), Duration.ofSeconds(30));
+		Assert.assertEquals(config.getDuration("missing", Duration.ofSeconds(3)), Duration.ofSeconds(3));
+	}
+
+	@Test
+	public void rejectsInvalidDurations() {
+		for (String value : new String[] { "soon", "10x", "ms", "P5", "1.5s" }) {
+			Configuration config = Configuration.of(Collections.singletonMap("wait.timeout", value));
+			try {
+				config.getDuration("wait.timeout", Duration.ZERO);
+				Assert.fail("Accepted duration " + value);
+			} catch (IllegalArgumentException e) {
+				Assert.assertEquals(e.getMessage(), "Invalid duration for wait.timeout: " + value);
+			}
+		}
+	}
+
+	@Test
+	public void systemPropertiesOverrideEnvironmentOverridesFile() {
+		Properties file = new Properties();
+		file.setProperty("driver.pool.maxSize", "4");
+		file.setProperty("wait.timeout", "10s");
+		file.setProperty("browserName", "edge");
+		file.setProperty("profile.headless.window", "1280x800");
+
+		Map<String, String> env = new HashMap<>();
+		env.put("DRIVER_POOL_MAXSIZE", " 8 ");
+		env.put("WAIT_TIMEOUT", "20s");
+		env.put("FIXTURES_ACCOUNTS", "2");
+		env.put("SCHEDULE_ORDER", "failfirst");
+		env.put("PROFILE_HEADED_WINDOW", "1920x1080");
+
+		Properties system = new Properties();
+		system.setProperty("wait.timeout", "30s");
+		system.setProperty("schedule.order", "declared");
+
+		Configuration config = Configuration.layer(file, env, system);
+
+		// In the file: the environment overrides it, a system property overrides both
+		Assert.assertEquals(config.getString("browserName"), "edge");
+		Assert.assertEquals(config.getInt("driver.pool.maxSize", 0), 8);
+		Assert.assertEquals(config.getDuration("wait.timeout", null), Duration.ofSeconds(30));
+		// Not in the file: the environment sets it, a system property overrides it
+		Assert.assertEquals(config.getInt("fixtures.accounts", 0), 2);
+		Assert.assertEquals(config.getString("schedule.order"), "declared");
+		Assert.assertFalse(config.find("events.file").isPresent());
+		// withPrefix only sees keys whose case is known
+		Assert.assertEquals(config.withPrefix("profile.headless."), Collections.singletonMap("window", "1280x800"));
+		Assert.assertTrue(config.withPrefix("profile.headed.").isEmpty());
+	}
+
+	@Test
+	public void blankValuesCountAsUnset() {
+		Properties file = new Properties();
+		file.setProperty("events.file", "  ");
+
+		Configuration config = Configuration.layer(file, Collections.singletonMap("ARTIFACTS_DIR", ""),
+				new Properties());
+
+		Assert.assertFalse(config.find("events.file").isPresent());
+		Assert.assertEquals(config.getString("artifacts.dir", "fallback"), "fallback");
+		Assert.assertThrows(IllegalStateException.class, () -> config.getString("events.file"));
+	}
+}
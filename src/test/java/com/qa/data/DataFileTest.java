@@ -0,0 +1,152 @@
+package com.qa.data;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+public class DataFileTest {
+
+	private Path directory;
+
+	@BeforeMethod
+	public void createDirectory() throws IOException {
+		directory = Files.createTempDirectory("datafile");
+	}
+
+	@AfterMethod(alwaysRun = true)
+	public void deleteDirectory() throws IOException {
+		try (Stream<Path> files = Files.list(directory)) {
+			for (Path file : (Iterable<Path>) files::iterator) {
+				Files.delete(file);
+			}
+		}
+		Files.delete(directory);
+	}
+
+	@Test
+	public void readsCrlfLinesAndSkipsBlankLines() throws IOException {
+		Path file = write("users.csv", "email,password\r\n\r\na@x.com,one\r\n   \r\nb@x.com,two\r\n\r\n");
+
+		List<DataRow> rows = read(DataFile.open(file));
+
+		Assert.assertEquals(values(rows), Arrays.asList("a@x.com|one", "b@x.com|two"));
+		Assert.assertEquals(rows.get(0).getLineNumber(), 3);
+		Assert.assertEquals(rows.get(1).getLineNumber(), 5);
+	}
+
+	@Test
+	public void unquotesFieldsWithCommasAndEscapedQuotes() throws IOException {
+		Path file = write("products.csv", "name,description\n\"Mac, Pro\",\"The \"\"big\"\" one\"\n\"\",plain\n");
+
+		List<DataRow> rows = read(DataFile.open(file));
+
+		Assert.assertEquals(rows.get(0).get("name"), "Mac, Pro");
+		Assert.assertEquals(rows.get(0).get("description"), "The \"big\" one");
+		Assert.assertEquals(rows.get(1).get("name"), "");
+		Assert.assertEquals(rows.get(1).get("description"), "plain");
+	}
+
+	@Test
+	public void missingValuesAreNull() throws IOException {
+		Path csv = write("short.csv", "email,password,name\na@x.com,one\n");
+		Path jsonl = write("short.jsonl", "{\"email\":\"a@x.com\",\"password\":\"one\"}\n{\"email\":\"b@x.com\"}\n");
+
+		DataRow row = read(DataFile.open(csv)).get(0);
+		Assert.assertEquals(row.get("password"), "one");
+		Assert.assertNull(row.get("name"));
+
+		List<DataRow> rows = read(DataFile.open(jsonl));
+		Assert.assertEquals(rows.get(0).getColumns(), Arrays.asList("email", "password"));
+		Assert.assertNull(rows.get(1).get("password"));
+	}
+
+	@Test
+	public void unknownColumnsAreRejected() throws IOException {
+		Path file = write("users.csv", "email,password\na@x.com,one\n");
+
+		Assert.assertThrows(IllegalArgumentException.class, () -> read(DataFile.open(file).columns("name")));
+		Assert.assertThrows(IllegalArgumentException.class, () -> read(DataFile.open(file)).get(0).get("name"));
+		Assert.assertEquals(values(read(DataFile.open(file).columns("password", "email"))),
+				Arrays.asList("one|a@x.com"));
+	}
+
+	@Test
+	public void shardsCoverTheFilteredRowsOnce() throws IOException {
+		StringBuilder content = new StringBuilder("id,kind\n");
+		List<String> expected = new ArrayList<>();
+		for (int i = 0; i < 50; i++) {
+			String kind = i % 3 == 0 ? "match" : "other";
+			content.append(i).append(',').append(kind).append('\n');
+			if (kind.equals("match")) {
+				expected.add(Integer.toString(i));
+			}
+		}
+		DataFile file = DataFile.open(write("ids.csv", content.toString()))
+				.filter(row -> row.get("kind").equals("match"));
+
+		Set<String> seen = new HashSet<>();
+		for (int shard = 0; shard < 4; shard++) {
+			for (DataRow row : read(file.shard(shard, 4))) {
+				Assert.assertTrue(seen.add(row.get("id")), "Row " + row.get("id") + " read by two shards");
+			}
+		}
+		Assert.assertEquals(seen, new HashSet<>(expected));
+		Assert.assertEquals(read(file.shard(1, 4).limit(2)).size(), 2);
+		Assert.assertThrows(IllegalArgumentException.class, () -> file.shard(4, 4));
+	}
+
+	@Test
+	public void linesCrossingTheWindowAreRead() throws IOException {
+		StringBuilder content = new StringBuilder("email,password\r\n");
+		List<String> expected = new ArrayList<>();
+		for (int i = 0; i < 40; i++) {
+			String email = "user" + i + "@x.com";
+			content.append(email).append(",\"p,").append(i).append("\"\r\n");
+			if (i % 7 == 0) {
+				content.append("\r\n");
+			}
+			expected.add(email + "|p," + i);
+		}
+		Path file = write("window.csv", content.toString());
+
+		// Lines are 20-odd bytes, so most of them start in one window and end in the next
+		for (long windowSize : new long[] { 32, 33, 47, 64 }) {
+			Assert.assertEquals(values(read(DataFile.open(file).windowSize(windowSize))), expected,
+					"Window of " + windowSize + " bytes");
+		}
+		Assert.assertThrows(IllegalStateException.class, () -> read(DataFile.open(file).windowSize(8)));
+	}
+
+	private Path write(String name, String content) throws IOException {
+		return Files.write(directory.resolve(name), content.getBytes(StandardCharsets.UTF_8));
+	}
+
+	private static List<DataRow> read(DataFile file) {
+		List<DataRow> rows = new ArrayList<>();
+		for (Iterator<DataRow> iterator = file.rows(); iterator.hasNext();) {
+			rows.add(iterator.next());
+		}
+		return rows;
+	}
+
+	private static List<String> values(List<DataRow> rows) {
+		List<String> values = new ArrayList<>();
+		for (DataRow row : rows) {
+			values.add(String.join("|", row.toArray()));
+		}
+		return values;
+	}
+}
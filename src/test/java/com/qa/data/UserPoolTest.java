@@ -0,0 +1,98 @@
+package com.qa.data;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BooleanSupplier;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+public class UserPoolTest {
+
+	private static final long TIMEOUT = TimeUnit.SECONDS.toNanos(10);
+
+	@Test(timeOut = 60000)
+	public void shortLivedThreadsNeverShareAUser() throws InterruptedException {
+		UserPool pool = new UserPool(8);
+		Queue<String> emails = new ConcurrentLinkedQueue<>();
+		for (int batch = 0; batch < 10; batch++) {
+			List<Thread> threads = new ArrayList<>();
+			for (int i = 0; i < 10; i++) {
+				Thread thread = new Thread(() -> {
+					for (int taken = 0; taken < 5; taken++) {
+						emails.add(pool.take().getEmail());
+					}
+				});
+				thread.start();
+				threads.add(thread);
+			}
+			for (Thread thread : threads) {
+				thread.join();
+			}
+		}
+
+		Assert.assertEquals(emails.size(), 500);
+		Assert.assertEquals(new HashSet<>(emails).size(), 500, "Users handed out more than once");
+		awaitTrue(() -> pool.getWorkerCount() == 0, "Queues of ended threads dropped");
+	}
+
+	@Test(timeOut = 60000)
+	public void usersQueuedForAnEndedThreadGoToTheNextOne() throws InterruptedException {
+		UserPool pool = new UserPool(8);
+		Set<String> first = new HashSet<>();
+		runInNewThread(() -> {
+			awaitTrue(() -> pool.getQueued() == 8, "First queue filled");
+			for (int i = 0; i < 3; i++) {
+				first.add(pool.take().getEmail());
+			}
+			// End with a full queue, so every record in it is left over
+			awaitTrue(() -> pool.getQueued() == 8, "First queue refilled");
+		});
+
+		awaitTrue(() -> pool.getWorkerCount() == 0, "Queue of the ended thread dropped");
+		Assert.assertEquals(pool.getPreloadedCount(), 8, "Records reclaimed from the ended thread");
+
+		Set<String> second = new HashSet<>();
+		runInNewThread(() -> {
+			awaitTrue(() -> pool.getQueued() == 8, "Second queue filled");
+			for (int i = 0; i < 8; i++) {
+				second.add(pool.take().getEmail());
+			}
+		});
+
+		Assert.assertEquals(pool.getGeneratedInline(), 0);
+		Assert.assertEquals(second.size(), 8);
+		for (String email : second) {
+			Assert.assertFalse(first.contains(email), email + " handed out twice");
+		}
+		Assert.assertEquals(pool.getPreloadedCount(), 0, "Reclaimed records handed to the next thread");
+	}
+
+	/* Runs the task on a thread of its own, which has ended when this returns. */
+	private static void runInNewThread(Runnable task) throws InterruptedException {
+		AtomicReference<Throwable> failure = new AtomicReference<>();
+		Thread thread = new Thread(task);
+		thread.setUncaughtExceptionHandler((t, e) -> failure.set(e));
+		thread.start();
+		thread.join();
+		if (failure.get() != null) {
+			throw new AssertionError("Worker thread failed", failure.get());
+		}
+	}
+
+	private static void awaitTrue(BooleanSupplier condition, String description) {
+		long deadline = System.nanoTime() + TIMEOUT;
+		while (!condition.getAsBoolean()) {
+			if (System.nanoTime() > deadline) {
+				throw new AssertionError("Timed out waiting for: " + description);
+			}
+			Thread.yield();
+		}
+	}
+}
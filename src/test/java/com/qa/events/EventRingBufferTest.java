@@ -0,0 +1,115 @@
+package com.qa.events;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+public class EventRingBufferTest {
+
+	@Test
+	public void refusesItemsWhenFullAndWrapsAround() {
+		EventRingBuffer<Integer> buffer = new EventRingBuffer<>(4);
+		int next = 0;
+		int expected = 0;
+		for (int round = 0; round < 10; round++) {
+			while (buffer.offer(next)) {
+				next++;
+			}
+			Assert.assertEquals(next - expected, 4, "Items held by a full buffer");
+			// Drain part of the buffer, so the next round's slots wrap past the end
+			for (int i = 0; i < 3; i++) {
+				Assert.assertEquals(buffer.poll(), Integer.valueOf(expected++));
+			}
+		}
+		while (expected < next) {
+			Assert.assertEquals(buffer.poll(), Integer.valueOf(expected++));
+		}
+		Assert.assertNull(buffer.poll());
+	}
+
+	@Test(timeOut = 60000)
+	public void drainsEveryItemOnceInProducerOrder() throws InterruptedException {
+		int producers = 4;
+		int perProducer = 20000;
+		EventRingBuffer<long[]> buffer = new EventRingBuffer<>(8);
+		CountDownLatch start = new CountDownLatch(1);
+		List<Thread> threads = new ArrayList<>();
+		for (int p = 0; p < producers; p++) {
+			long producer = p;
+			Thread thread = new Thread(() -> {
+				try {
+					start.await();
+				} catch (InterruptedException e) {
+					return;
+				}
+				for (long i = 0; i < perProducer; i++) {
+					// The buffer is far smaller than the items, so producers often find it full
+					while (!buffer.offer(new long[] { producer, i })) {
+						Thread.yield();
+					}
+				}
+			}, "producer-" + p);
+			thread.start();
+			threads.add(thread);
+		}
+
+		long[] nextExpected = new long[producers];
+		int drained = 0;
+		start.countDown();
+		while (drained < producers * perProducer) {
+			long[] item = buffer.poll();
+			if (item == null) {
+				Thread.yield();
+				continue;
+			}
+			int producer = (int) item[0];
+			Assert.assertEquals(item[1], nextExpected[producer], "Next item of producer " + producer);
+			nextExpected[producer]++;
+			drained++;
+		}
+		for (Thread thread : threads) {
+			thread.join(TimeUnit.SECONDS.toMillis(10));
+		}
+		Assert.assertNull(buffer.poll());
+		long[] all = new long[producers];
+		Arrays.fill(all, perProducer);
+		Assert.assertEquals(nextExpected, all);
+	}
+
+	@Test
+	public void replayReadsBackWrittenEvents() throws IOException {
+		List<TestEvent> events = Arrays.asList(
+				new TestEvent(TestEvent.Type.CONTEXT_START, 1000L, "Suite", null, null, "main", null, 0, null),
+				new TestEvent(TestEvent.Type.TEST_FAILURE, 2000L, "Suite", "com.qa.SomeTest", "login", "worker-1",
+						"chrome:headless", 1234, "Expected \"a\\b\"\nbut was\ttab"),
+				new TestEvent(TestEvent.Type.TEST_SUCCESS, 3000L, "Suite", "com.qa.SomeTest", "search", "worker-2",
+						"fake", 5, null));
+		StringBuilder log = new StringBuilder();
+		for (TestEvent event : events) {
+			event.appendJson(log);
+			log.append('\n');
+		}
+		Path file = Files.createTempFile("events", ".ndjson");
+		try {
+			Files.write(file, log.append('\n').toString().getBytes(StandardCharsets.UTF_8));
+
+			List<TestEvent> replayed = EventLog.replay(file);
+
+			Assert.assertEquals(replayed.size(), events.size());
+			for (int i = 0; i < events.size(); i++) {
+				Assert.assertEquals(replayed.get(i).toMap(), events.get(i).toMap());
+			}
+		} finally {
+			Files.delete(file);
+		}
+	}
+}
@@ -0,0 +1,103 @@
+package com.qa.metrics;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+public class LatencyHistogramTest {
+
+	private static final long MICRO = 1000;
+
+	@Test
+	public void emptyHistogramReportsZero() {
+		LatencyHistogram histogram = new LatencyHistogram();
+
+		Assert.assertEquals(histogram.getCount(), 0);
+		Assert.assertEquals(histogram.getMaxMicros(), 0);
+		Assert.assertEquals(histogram.getMeanMicros(), 0.0);
+		Assert.assertEquals(histogram.getPercentileMicros(50), 0);
+	}
+
+	@Test
+	public void valuesBelow256MicrosAreExact() {
+		LatencyHistogram histogram = new LatencyHistogram();
+		for (long micros = 0; micros < 256; micros++) {
+			histogram.recordNanos(micros * MICRO + 999);
+		}
+
+		Assert.assertEquals(histogram.getCount(), 256);
+		Assert.assertEquals(histogram.getMaxMicros(), 255);
+		Assert.assertEquals(histogram.getMeanMicros(), 127.5);
+		Assert.assertEquals(histogram.getPercentileMicros(0), 0);
+		Assert.assertEquals(histogram.getPercentileMicros(50), 127);
+		Assert.assertEquals(histogram.getPercentileMicros(99), 253);
+		Assert.assertEquals(histogram.getPercentileMicros(100), 255);
+	}
+
+	@Test
+	public void bucketsAboveTheLinearRangeAreWithinOnePercent() {
+		// Edges of the first log-linear buckets, then values across the range
+		long[] values = { 256, 257, 258, 383, 511, 512, 515, 516, 1000, 1023, 1024, 65535, 123456, 1000000,
+				3600000000L, (1L << 36) - 1 };
+		long previousBound = -1;
+		for (long micros : values) {
+			LatencyHistogram histogram = new LatencyHistogram();
+			histogram.recordNanos(micros * MICRO);
+			histogram.recordNanos(Long.MAX_VALUE);
+
+			// The lower half is the single value, reported as its bucket's upper bound
+			long bound = histogram.getPercentileMicros(50);
+			Assert.assertTrue(bound >= micros, micros + " reported as " + bound);
+			Assert.assertTrue(bound - micros <= micros / 100, micros + " reported as " + bound);
+			Assert.assertTrue(bound >= previousBound, "Buckets out of order at " + micros);
+			previousBound = bound;
+		}
+	}
+
+	@Test
+	public void adjacentBucketsDoNotOverlap() {
+		long[][] bounds = { { 256, 257 }, { 258, 259 }, { 510, 511 }, { 512, 515 }, { 516, 519 }, { 1020, 1023 },
+				{ 1024, 1031 } };
+		for (long[] bucket : bounds) {
+			for (long micros = bucket[0]; micros <= bucket[1]; micros++) {
+				LatencyHistogram histogram = new LatencyHistogram();
+				histogram.recordNanos(micros * MICRO);
+				histogram.recordNanos(Long.MAX_VALUE);
+				Assert.assertEquals(histogram.getPercentileMicros(50), bucket[1], "Bucket of " + micros);
+			}
+		}
+	}
+
+	@Test
+	public void percentilesOfKnownSamples() {
+		LatencyHistogram histogram = new LatencyHistogram();
+		for (long millis = 1; millis <= 1000; millis++) {
+			histogram.recordNanos(millis * 1000 * MICRO);
+		}
+
+		Assert.assertEquals(histogram.getCount(), 1000);
+		Assert.assertEquals(histogram.getMaxMicros(), 1000000);
+		Assert.assertEquals(histogram.getMeanMicros(), 500500.0);
+		assertWithinOnePercent(histogram.getPercentileMicros(50), 500000);
+		assertWithinOnePercent(histogram.getPercentileMicros(90), 900000);
+		assertWithinOnePercent(histogram.getPercentileMicros(99), 990000);
+		// The top bucket is capped at the largest recorded value
+		Assert.assertEquals(histogram.getPercentileMicros(100), 1000000);
+		Assert.assertEquals(histogram.getPercentileMicros(250), 1000000);
+	}
+
+	@Test
+	public void outOfRangeValuesAreClamped() {
+		LatencyHistogram histogram = new LatencyHistogram();
+		histogram.recordNanos(-5000);
+		histogram.recordNanos(Long.MAX_VALUE);
+
+		Assert.assertEquals(histogram.getPercentileMicros(50), 0);
+		Assert.assertEquals(histogram.getMaxMicros(), (1L << 36) - 1);
+		Assert.assertEquals(histogram.getPercentileMicros(100), (1L << 36) - 1);
+	}
+
+	private static void assertWithinOnePercent(long actual, long expected) {
+		Assert.assertTrue(actual >= expected && actual - expected <= expected / 100,
+				"Expected about " + expected + " but was " + actual);
+	}
+}
@@ -3,6 +3,7 @@ package com.qa.testcases;
 import org.testng.annotations.Test;
 
 import com.qa.base.BaseTest;
+import com.qa.pages.LoginPage;
 import com.qa.pages.PageDependencies;
 import com.qa.utility.DataSupplier;
 
@@ -38,6 +39,27 @@ public class LoginTestCase extends BaseTest {
 			.ConfirmLoginFailure();
 	}
 
+	@Test(dataProvider = "LoginFileData", dataProviderClass = DataSupplier.class)
+	void LoginWithCredentialsFromFile(String email, String password, String valid) {
+		PageDependencies dependencies = new PageDependencies(getDriver());
+		LoginPage loginPage = dependencies.homePage()
+			.NavigateToLoginPage()
+			.EnterLoginDetails(email, password)
+			.ClickOnLoginButton();
+		if (Boolean.parseBoolean(valid)) {
+			loginPage.ConfirmSuccessfulLogin();
+		} else {
+			loginPage.ConfirmLoginFailure();
+		}
+	}
+
+	@Test(dataProvider = "ValidTestData", dataProviderClass = DataSupplier.class)
+	void OpenAccountWithSavedSession(String email, String password) {
+		PageDependencies dependencies = new PageDependencies(getDriver());
+		dependencies.signedInAccountPage(email, password)
+			.IsNewsLetterSubscribed();
+	}
+
 	@Test(groups = "smoke")
 	public void ValidateForgotPasswordLink() {
 		PageDependencies dependencies = new PageDependencies(getDriver());
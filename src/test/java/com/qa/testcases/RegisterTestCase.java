@@ -3,6 +3,8 @@ package com.qa.testcases;
 import org.testng.Assert;
 import org.testng.annotations.Test;
 import com.qa.base.BaseTest;
+import com.qa.data.UserPool;
+import com.qa.data.UserRecord;
 import com.qa.pages.PageDependencies;
 
 public class RegisterTestCase extends BaseTest {
@@ -32,6 +34,23 @@ public class RegisterTestCase extends BaseTest {
 		Assert.assertEquals(dependencies.accountPage().IsNewsLetterSubscribed(), true);
 	}
 
+	@Test
+	void verifyNewsLetterOfProvisionedUser() {
+		UserRecord user = accountFixtures().register(UserPool.get().take(), true);
+		PageDependencies dependencies = new PageDependencies(getDriver());
+		Assert.assertEquals(dependencies.signedInAccountPage(user.getEmail(), user.getPassword())
+			.IsNewsLetterSubscribed(), true);
+	}
+
+	@Test
+	void verifyNewsLetterOfResubscribedUser() {
+		UserRecord user = provisionedAccount();
+		accountFixtures().setNewsletter(user, true);
+		PageDependencies dependencies = new PageDependencies(getDriver());
+		Assert.assertEquals(dependencies.signedInAccountPage(user.getEmail(), user.getPassword())
+			.IsNewsLetterSubscribed(), true);
+	}
+
 	@Test(groups = "regression")
 	void registerNewUserWithNoInfo() {
 		PageDependencies dependencies = new PageDependencies(getDriver());
@@ -1,17 +1,21 @@
 package com.qa.testcases;
 
+import org.testng.Assert;
 import org.testng.annotations.Test;
 
 import com.qa.base.BaseTest;
+import com.qa.data.DataRow;
+import com.qa.pages.HomePage;
 import com.qa.pages.PageDependencies;
+import com.qa.utility.DataSupplier;
 
 public class SearchProductTestCase extends BaseTest {
 
 	@Test(groups = "smoke")
 	void searchExistingProduct() {
 		PageDependencies dependencies = new PageDependencies(getDriver());
-		dependencies.homePage()
-			.SearchProduct("iMac");
+		Assert.assertNotNull(dependencies.homePage()
+			.SearchProduct("iMac"), "iMac not found");
 	}
 
 	@Test(groups = "regression")
@@ -28,4 +32,14 @@ public class SearchProductTestCase extends BaseTest {
 			.checkIfProductExists("");
 	}
 
+	@Test(dataProvider = "SearchFileData", dataProviderClass = DataSupplier.class)
+	void searchProductsFromFile(DataRow row) {
+		PageDependencies dependencies = new PageDependencies(getDriver());
+		HomePage homePage = dependencies.homePage();
+		if (Boolean.parseBoolean(row.get("exists"))) {
+			Assert.assertNotNull(homePage.SearchProduct(row.get("product")), row.get("product") + " not found");
+		} else {
+			homePage.checkIfProductExists(row.get("product"));
+		}
+	}
 }